@@ -0,0 +1,39 @@
+-- MySQL Script for migrating a Student Management database created before the student change
+-- feed, which reads students by (last_modification, id) and deletions by (operation, id).
+-- It also adds the triggers that stamp inserts with the database clock, as updates and history
+-- already are, so the feed compares timestamps from a single clock
+
+USE `student_management`;
+
+CREATE INDEX `IDX_STUDENT_LAST_MODIFICATION` ON `student` (`last_modification`, `id`);
+CREATE INDEX `IDX_STUDENT_HISTORY_OPERATION` ON `student_history` (`operation`, `id`);
+
+LOCK TABLES `student` WRITE;
+DROP TRIGGER IF EXISTS tg_student_insert_ctrl;
+
+DELIMITER $$
+CREATE TRIGGER tg_student_insert_ctrl
+BEFORE INSERT
+ON student FOR EACH ROW
+BEGIN
+    SET NEW.last_modification = NOW();
+    SET NEW.created_at = NOW();
+END $$
+DELIMITER ;
+
+UNLOCK TABLES;
+
+LOCK TABLES `phone` WRITE;
+DROP TRIGGER IF EXISTS tg_phone_insert_ctrl;
+
+DELIMITER $$
+CREATE TRIGGER tg_phone_insert_ctrl
+BEFORE INSERT
+ON phone FOR EACH ROW
+BEGIN
+    SET NEW.last_modification = NOW();
+    SET NEW.created_at = NOW();
+END $$
+DELIMITER ;
+
+UNLOCK TABLES;
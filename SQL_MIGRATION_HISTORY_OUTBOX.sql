@@ -0,0 +1,99 @@
+-- MySQL Script for migrating a Student Management database created before the history outbox.
+-- Run it with the application stopped: it creates the history_outbox table and recreates the
+-- history triggers so they skip their inserts on connections that set @student_audit_outbox,
+-- as the application does in audit outbox mode (student.service.auditOutbox=true)
+
+USE `student_management`;
+
+CREATE TABLE IF NOT EXISTS `history_outbox` (
+    `id` bigint(20) NOT NULL AUTO_INCREMENT,
+    `entity` varchar(16) NOT NULL,
+    `entity_id` int(15) NOT NULL,
+    `student_id` int(15) DEFAULT NULL,
+    `first_name` varchar(128) DEFAULT NULL,
+    `last_name` varchar(128) DEFAULT NULL,
+    `enrollment_id` varchar(128) DEFAULT NULL,
+    `phone_number` varchar(128) DEFAULT NULL,
+    `phone_type` varchar(128) DEFAULT NULL,
+    `times_updated` int(15) DEFAULT 0,
+    `last_modification` DATETIME DEFAULT NULL,
+    `created_at` DATETIME DEFAULT NULL,
+    `recorded_at` DATETIME NOT NULL DEFAULT NOW(),
+    `operation` varchar(128) NOT NULL,
+
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=latin1;
+
+-- AUDITING TRIGGERS: STUDENT
+
+LOCK TABLES `student` WRITE;
+DROP TRIGGER IF EXISTS tg_student_hist_update;
+
+DELIMITER $$
+CREATE TRIGGER tg_student_hist_update
+BEFORE UPDATE
+ON student FOR EACH ROW
+BEGIN
+
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO student_history(student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.first_name, OLD.last_name, OLD.enrollment_id, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'update');
+END IF;
+
+END $$
+DELIMITER ;
+
+DROP TRIGGER IF EXISTS tg_student_hist_delete;
+
+DELIMITER $$
+CREATE TRIGGER tg_student_hist_delete
+BEFORE DELETE
+ON student FOR EACH ROW
+BEGIN
+
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO student_history(student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.first_name, OLD.last_name, OLD.enrollment_id, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'delete');
+END IF;
+
+END $$
+DELIMITER ;
+
+UNLOCK TABLES;
+
+-- AUDITING TRIGGERS: PHONE
+
+LOCK TABLES `phone` WRITE;
+DROP TRIGGER IF EXISTS tg_phone_hist_update;
+
+DELIMITER $$
+CREATE TRIGGER tg_phone_hist_update
+BEFORE UPDATE
+ON phone FOR EACH ROW
+BEGIN
+
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO phone_history(phone_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'update');
+END IF;
+
+END $$
+DELIMITER ;
+
+DROP TRIGGER IF EXISTS tg_phone_hist_delete;
+
+DELIMITER $$
+CREATE TRIGGER tg_phone_hist_delete
+BEFORE DELETE
+ON phone FOR EACH ROW
+BEGIN
+
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO phone_history(phone_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'delete');
+END IF;
+
+END $$
+DELIMITER ;
+
+UNLOCK TABLES;
@@ -0,0 +1,61 @@
+-- MySQL Script for migrating a Student Management database created before the indexed history
+-- reads, whose phone history had no student_id. Run it with the application stopped and after
+-- SQL_MIGRATION_HISTORY_OUTBOX.sql: it adds the column, recreates the phone history triggers
+-- to fill it, backfills it from the phones still present and adds the history indexes.
+-- History of phones deleted before the migration keeps a null student_id, so it is left out
+-- of the history read by student
+
+USE `student_management`;
+
+ALTER TABLE `phone_history` ADD COLUMN `student_id` int(15) DEFAULT NULL AFTER `phone_id`;
+
+-- AUDITING TRIGGERS: PHONE
+
+LOCK TABLES `phone` WRITE;
+DROP TRIGGER IF EXISTS tg_phone_hist_update;
+
+DELIMITER $$
+CREATE TRIGGER tg_phone_hist_update
+BEFORE UPDATE
+ON phone FOR EACH ROW
+BEGIN
+
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO phone_history(phone_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.student_id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'update');
+END IF;
+
+END $$
+DELIMITER ;
+
+DROP TRIGGER IF EXISTS tg_phone_hist_delete;
+
+DELIMITER $$
+CREATE TRIGGER tg_phone_hist_delete
+BEFORE DELETE
+ON phone FOR EACH ROW
+BEGIN
+
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO phone_history(phone_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.student_id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'delete');
+END IF;
+
+END $$
+DELIMITER ;
+
+UNLOCK TABLES;
+
+-- BACKFILL
+
+UPDATE `phone_history` h
+JOIN `phone` p ON p.`id` = h.`phone_id`
+SET h.`student_id` = p.`student_id`
+WHERE h.`student_id` IS NULL;
+
+-- INDEXES
+
+CREATE INDEX `IDX_STUDENT_HISTORY_STUDENT` ON `student_history` (`student_id`, `history_insertion`);
+CREATE INDEX `IDX_STUDENT_HISTORY_ENROLLMENT_ID` ON `student_history` (`enrollment_id`, `history_insertion`);
+CREATE INDEX `IDX_PHONE_HISTORY_PHONE` ON `phone_history` (`phone_id`, `history_insertion`);
+CREATE INDEX `IDX_PHONE_HISTORY_STUDENT` ON `phone_history` (`student_id`, `history_insertion`);
@@ -0,0 +1,17 @@
+-- MySQL Script for migrating a Student Management database created before the pooled
+-- identifier generator, whose student and phone ids were handed out by AUTO_INCREMENT.
+-- Run it with the application stopped: it creates the id_sequence table if needed and
+-- moves it past the highest id already in use, so generated ids never collide with them
+
+USE `student_management`;
+
+CREATE TABLE IF NOT EXISTS `id_sequence` (
+    `next_val` bigint(20) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=latin1;
+
+INSERT INTO `id_sequence`
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM `id_sequence`);
+
+UPDATE `id_sequence` SET `next_val` = GREATEST(`next_val`,
+    COALESCE((SELECT MAX(`id`) FROM `student`), 0) + 1,
+    COALESCE((SELECT MAX(`id`) FROM `phone`), 0) + 1);
@@ -0,0 +1,7 @@
+-- MySQL Script for migrating a Student Management database created before the paginated
+-- name search, which seeks and sorts students by (last_name, first_name).
+-- InnoDB builds the index online, so it can run with the application up
+
+USE `student_management`;
+
+CREATE INDEX `IDX_STUDENT_NAME` ON `student` (`last_name`, `first_name`);
@@ -0,0 +1,12 @@
+-- MySQL Script for migrating a Student Management database created before times_updated
+-- became the optimistic lock version of students and phones, when the column was nullable.
+-- Run it with the application stopped: rows without a count start from 0, as new rows do,
+-- and the NOT NULL constraint keeps a null version from ever reaching the application
+
+USE `student_management`;
+
+UPDATE `student` SET `times_updated` = 0 WHERE `times_updated` IS NULL;
+UPDATE `phone` SET `times_updated` = 0 WHERE `times_updated` IS NULL;
+
+ALTER TABLE `student` MODIFY `times_updated` int(15) NOT NULL DEFAULT 0;
+ALTER TABLE `phone` MODIFY `times_updated` int(15) NOT NULL DEFAULT 0;
@@ -18,12 +18,14 @@ CREATE TABLE `student` (
     `first_name` varchar(128) NOT NULL,
     `last_name` varchar(128) NOT NULL,
     `enrollment_id` varchar(128) NOT NULL,
-    `times_updated` int(15) DEFAULT 0,
+    `times_updated` int(15) NOT NULL DEFAULT 0,
     `last_modification` DATETIME DEFAULT NOW(),
     `created_at` DATETIME DEFAULT NOW(),
     
     PRIMARY KEY (`id`),
-    UNIQUE KEY `ENROLLMENT_ID_UNIQUE` (`enrollment_id`)
+    UNIQUE KEY `ENROLLMENT_ID_UNIQUE` (`enrollment_id`),
+    KEY `IDX_STUDENT_NAME` (`last_name`, `first_name`),
+    KEY `IDX_STUDENT_LAST_MODIFICATION` (`last_modification`, `id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=latin1;
 
 DROP TABLE IF EXISTS `phone`;
@@ -32,7 +34,7 @@ CREATE TABLE `phone` (
     `id` int(15) NOT NULL AUTO_INCREMENT,
     `phone_number` varchar(128) DEFAULT NULL,
     `phone_type` varchar(128) DEFAULT NULL,
-    `times_updated` int(15) DEFAULT 0,
+    `times_updated` int(15) NOT NULL DEFAULT 0,
     `student_id` int(15) NOT NULL,
     `last_modification` DATETIME DEFAULT NOW(),
     `created_at` DATETIME DEFAULT NOW(),
@@ -44,6 +46,18 @@ CREATE TABLE `phone` (
     ON DELETE NO ACTION ON UPDATE NO ACTION
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=latin1;
 
+-- Table backing the pooled identifier generator shared by student and phone,
+-- which hands out blocks of 50 ids so inserts can be sent as JDBC batches
+DROP TABLE IF EXISTS `id_sequence`;
+
+CREATE TABLE `id_sequence` (
+    `next_val` bigint(20) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=latin1;
+
+-- Starts after the highest id already in use; SQL_MIGRATION_ID_SEQUENCE.sql does the same for existing databases
+INSERT INTO `id_sequence`
+SELECT GREATEST(COALESCE((SELECT MAX(`id`) FROM `student`), 0), COALESCE((SELECT MAX(`id`) FROM `phone`), 0)) + 1;
+
 -- AUDITING TABLES
 
 -- Table for keeping track of student transactions that were made 
@@ -61,7 +75,10 @@ CREATE TABLE `student_history` (
     `history_insertion` DATETIME NOT NULL DEFAULT NOW(),
     `operation` varchar(128) NOT NULL,
 
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY `IDX_STUDENT_HISTORY_STUDENT` (`student_id`, `history_insertion`),
+    KEY `IDX_STUDENT_HISTORY_ENROLLMENT_ID` (`enrollment_id`, `history_insertion`),
+    KEY `IDX_STUDENT_HISTORY_OPERATION` (`operation`, `id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=latin1;
 
 -- Table for keeping track of phone transactions that were made 
@@ -70,6 +87,7 @@ DROP TABLE IF EXISTS `phone_history`;
 CREATE TABLE `phone_history` (
     `id` int(15) NOT NULL AUTO_INCREMENT,
     `phone_id` int(15) NOT NULL,
+    `student_id` int(15) DEFAULT NULL,
     `phone_number` varchar(128) DEFAULT NULL,
     `phone_type` varchar(128) DEFAULT NULL,
     `times_updated` int(15) DEFAULT 0,
@@ -78,6 +96,32 @@ CREATE TABLE `phone_history` (
     `history_insertion` DATETIME NOT NULL DEFAULT NOW(),
     `operation` varchar(128) NOT NULL,
 
+    PRIMARY KEY (`id`),
+    KEY `IDX_PHONE_HISTORY_PHONE` (`phone_id`, `history_insertion`),
+    KEY `IDX_PHONE_HISTORY_STUDENT` (`student_id`, `history_insertion`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=latin1;
+
+-- Outbox filled by the application in audit outbox mode (student.service.auditOutbox=true), whose
+-- connections set @student_audit_outbox so the history triggers below skip their inserts;
+-- the application moves these rows into the history tables in batches
+DROP TABLE IF EXISTS `history_outbox`;
+
+CREATE TABLE `history_outbox` (
+    `id` bigint(20) NOT NULL AUTO_INCREMENT,
+    `entity` varchar(16) NOT NULL,
+    `entity_id` int(15) NOT NULL,
+    `student_id` int(15) DEFAULT NULL,
+    `first_name` varchar(128) DEFAULT NULL,
+    `last_name` varchar(128) DEFAULT NULL,
+    `enrollment_id` varchar(128) DEFAULT NULL,
+    `phone_number` varchar(128) DEFAULT NULL,
+    `phone_type` varchar(128) DEFAULT NULL,
+    `times_updated` int(15) DEFAULT 0,
+    `last_modification` DATETIME DEFAULT NULL,
+    `created_at` DATETIME DEFAULT NULL,
+    `recorded_at` DATETIME NOT NULL DEFAULT NOW(),
+    `operation` varchar(128) NOT NULL,
+
     PRIMARY KEY (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=latin1;
 
@@ -98,6 +142,20 @@ BEGIN
 END $$
 DELIMITER ;
 
+-- Trigger for stamping inserts with the database clock, which also stamps updates and history,
+-- so the change feed compares timestamps from a single clock
+DROP TRIGGER IF EXISTS tg_student_insert_ctrl;
+
+DELIMITER $$
+CREATE TRIGGER tg_student_insert_ctrl
+BEFORE INSERT
+ON student FOR EACH ROW
+BEGIN
+    SET NEW.last_modification = NOW();
+    SET NEW.created_at = NOW();
+END $$
+DELIMITER ;
+
 -- Trigger for keeping a history of transactions on student table
 DROP TRIGGER IF EXISTS tg_student_hist_update;
 
@@ -107,8 +165,10 @@ BEFORE UPDATE
 ON student FOR EACH ROW
 BEGIN
 
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
 INSERT INTO student_history(student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, history_insertion, operation)
 VALUES (OLD.id, OLD.first_name, OLD.last_name, OLD.enrollment_id, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'update');
+END IF;
 
 END $$
 DELIMITER ;
@@ -121,8 +181,10 @@ BEFORE DELETE
 ON student FOR EACH ROW
 BEGIN
 
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
 INSERT INTO student_history(student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, history_insertion, operation)
 VALUES (OLD.id, OLD.first_name, OLD.last_name, OLD.enrollment_id, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'delete');
+END IF;
 
 END $$
 DELIMITER ;
@@ -146,6 +208,20 @@ BEGIN
 END $$
 DELIMITER ;
 
+-- Trigger for stamping inserts with the database clock, which also stamps updates and history,
+-- so the change feed compares timestamps from a single clock
+DROP TRIGGER IF EXISTS tg_phone_insert_ctrl;
+
+DELIMITER $$
+CREATE TRIGGER tg_phone_insert_ctrl
+BEFORE INSERT
+ON phone FOR EACH ROW
+BEGIN
+    SET NEW.last_modification = NOW();
+    SET NEW.created_at = NOW();
+END $$
+DELIMITER ;
+
 -- Trigger for keeping a history of transactions on phone table
 DROP TRIGGER IF EXISTS tg_phone_hist_update;
 
@@ -155,8 +231,10 @@ BEFORE UPDATE
 ON phone FOR EACH ROW
 BEGIN
 
-INSERT INTO phone_history(phone_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
-VALUES (OLD.id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'update');
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO phone_history(phone_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.student_id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'update');
+END IF;
 
 END $$
 DELIMITER ;
@@ -169,8 +247,10 @@ BEFORE DELETE
 ON phone FOR EACH ROW
 BEGIN
 
-INSERT INTO phone_history(phone_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
-VALUES (OLD.id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'delete');
+IF COALESCE(@student_audit_outbox, 0) = 0 THEN
+INSERT INTO phone_history(phone_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation)
+VALUES (OLD.id, OLD.student_id, OLD.phone_number, OLD.phone_type, OLD.times_updated, OLD.last_modification, OLD.created_at, NOW(), 'delete');
+END IF;
 
 END $$
 DELIMITER ;
@@ -2,8 +2,9 @@ package com.forleven.backenddevelopertest;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+@SpringBootApplication(exclude=R2dbcAutoConfiguration.class)
 public class BackendDeveloperTestApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,124 @@
+package com.forleven.backenddevelopertest.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreDeleteEvent;
+import org.hibernate.event.spi.PreDeleteEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+/**
+ * Records the previous state of every student and phone row Hibernate updates or deletes in the
+ * history outbox, in place of the history triggers. Rows collected during a transaction are
+ * written as one JDBC batch after the final flush, right before the commit.
+ */
+@Component
+public class HistoryOutboxListener implements PreUpdateEventListener, PreDeleteEventListener {
+	private static final long serialVersionUID = 1L;
+
+	static final String INSERT_OUTBOX = "insert into history_outbox (entity, entity_id, student_id, first_name, last_name, enrollment_id, "
+			+ "phone_number, phone_type, times_updated, last_modification, created_at, operation) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final transient Map<EventSource, List<Object[]>> pending = new ConcurrentHashMap<>();
+
+	public HistoryOutboxListener(EntityManagerFactory entityManagerFactory, @Qualifier("studentServiceProperties") ServiceProperties props) {
+		if (props.auditOutbox()) {
+			EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+			registry.appendListeners(EventType.PRE_UPDATE, this);
+			registry.appendListeners(EventType.PRE_DELETE, this);
+		}
+	}
+
+	@Override
+	public boolean onPreUpdate(PreUpdateEvent event) {
+		record(event.getSession(), event.getPersister(), event.getEntity(), event.getOldState(), "update");
+		return false;
+	}
+
+	@Override
+	public boolean onPreDelete(PreDeleteEvent event) {
+		record(event.getSession(), event.getPersister(), event.getEntity(), event.getDeletedState(), "delete");
+		return false;
+	}
+
+	private void record(EventSource session, EntityPersister persister, Object entity, Object[] state, String operation) {
+		Object[] previous = state == null ? persister.getPropertyValues(entity) : state;
+		Object[] row;
+		if (entity instanceof Student) {
+			Student student = (Student) entity;
+			row = new Object[] {"student", student.getId(), student.getId(), value(persister, previous, "firstName"), value(persister, previous, "lastName"),
+					value(persister, previous, "enrollmentId"), null, null, value(persister, previous, "version"),
+					value(persister, previous, "lastModified"), value(persister, previous, "createdAt"), operation};
+		} else if (entity instanceof Phone) {
+			Phone phone = (Phone) entity;
+			Student student = (Student) value(persister, previous, "student");
+			row = new Object[] {"phone", phone.getId(), student == null ? null : student.getId(), null, null, null,
+					value(persister, previous, "phoneNumber"), value(persister, previous, "phoneType"), value(persister, previous, "version"),
+					value(persister, previous, "lastModified"), value(persister, previous, "createdAt"), operation};
+		} else {
+			return;
+		}
+		pending.computeIfAbsent(session, this::register).add(row);
+	}
+
+	private List<Object[]> register(EventSource session) {
+		session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+		session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pending.remove(session));
+		return new ArrayList<>();
+	}
+
+	private void write(SessionImplementor session) {
+		List<Object[]> rows = pending.remove(session);
+		if (rows == null || rows.isEmpty()) {
+			return;
+		}
+		TimeZone timeZone = session.getFactory().getSessionFactoryOptions().getJdbcTimeZone();
+		Calendar calendar = Calendar.getInstance(timeZone == null ? TimeZone.getDefault() : timeZone);
+		session.doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT_OUTBOX)) {
+				for (Object[] row : rows) {
+					for (int i = 0; i < row.length; i++) {
+						if (row[i] instanceof Instant) {
+							statement.setTimestamp(i + 1, Timestamp.from((Instant) row[i]), calendar);
+						} else if (row[i] == null) {
+							statement.setNull(i + 1, Types.NULL);
+						} else {
+							statement.setObject(i + 1, row[i]);
+						}
+					}
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		});
+	}
+
+	private static Object value(EntityPersister persister, Object[] state, String property) {
+		return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+	}
+}
@@ -0,0 +1,119 @@
+package com.forleven.backenddevelopertest.audit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class HistoryOutboxWriter implements MeterBinder {
+	private static final Logger LOGGER = LoggerFactory.getLogger(HistoryOutboxWriter.class);
+
+	// Locks the oldest rows so concurrent writers on other instances wait instead of copying them twice
+	private static final String LOCK_BATCH = "select id from history_outbox order by id limit ? for update";
+
+	private static final String COPY_STUDENTS = "insert into student_history (student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, history_insertion, operation) "
+			+ "select entity_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, recorded_at, operation "
+			+ "from history_outbox where entity = 'student' and id <= ? order by id";
+
+	private static final String COPY_PHONES = "insert into phone_history (phone_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, history_insertion, operation) "
+			+ "select entity_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, recorded_at, operation "
+			+ "from history_outbox where entity = 'phone' and id <= ? order by id";
+
+	private static final String DELETE_BATCH = "delete from history_outbox where id <= ?";
+
+	private static final String BACKLOG = "select count(*) as backlog, coalesce(timestampdiff(second, min(recorded_at), now()), 0) as lag from history_outbox";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final boolean enabled;
+
+	private final int batchSize;
+
+	private final AtomicLong written = new AtomicLong();
+
+	private final AtomicLong failedFlushes = new AtomicLong();
+
+	private volatile long backlog;
+
+	private volatile long lagSeconds;
+
+	public HistoryOutboxWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, @Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = props.auditOutbox();
+		this.batchSize = props.auditOutboxBatchSize();
+	}
+
+	@Scheduled(fixedDelayString="${student.service.auditOutboxFlushIntervalMillis}", initialDelayString="${student.service.auditOutboxFlushIntervalMillis}")
+	public void scheduledFlush() {
+		if (enabled) {
+			flush();
+		}
+	}
+
+	public synchronized long flush() {
+		long flushed = 0;
+		try {
+			Map<String, Object> pending = jdbcTemplate.queryForMap(BACKLOG);
+			backlog = ((Number) pending.get("backlog")).longValue();
+			lagSeconds = ((Number) pending.get("lag")).longValue();
+			int moved;
+			do {
+				moved = transactionTemplate.execute(status -> moveBatch());
+				flushed += moved;
+				written.addAndGet(moved);
+			} while (moved == batchSize);
+			backlog = Math.max(0, backlog - flushed);
+		} catch (RuntimeException e) {
+			failedFlushes.incrementAndGet();
+			LOGGER.warn("Could not flush the history outbox", e);
+		}
+		return flushed;
+	}
+
+	private int moveBatch() {
+		List<Long> ids = jdbcTemplate.queryForList(LOCK_BATCH, Long.class, batchSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		long last = ids.get(ids.size() - 1);
+		jdbcTemplate.update(COPY_STUDENTS, last);
+		jdbcTemplate.update(COPY_PHONES, last);
+		return jdbcTemplate.update(DELETE_BATCH, last);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("student.audit.outbox.backlog", this, w -> w.backlog)
+				.description("History events waiting in the outbox when the last flush started, less the ones it wrote")
+				.register(registry);
+		TimeGauge.builder("student.audit.outbox.lag", this, TimeUnit.SECONDS, w -> w.lagSeconds)
+				.description("Age of the oldest history event waiting in the outbox when the last flush started")
+				.register(registry);
+		FunctionCounter.builder("student.audit.outbox.written", written, AtomicLong::get)
+				.description("History events moved from the outbox to the history tables")
+				.register(registry);
+		FunctionCounter.builder("student.audit.outbox.flush.failures", failedFlushes, AtomicLong::get)
+				.register(registry);
+	}
+}
@@ -0,0 +1,24 @@
+package com.forleven.backenddevelopertest.cache;
+
+/**
+ * A serialized student together with the ETag of the version it was serialized from,
+ * so a cache hit can answer conditional requests without reading the database.
+ */
+public class CachedResponse {
+	private final byte[] body;
+	
+	private final String tag;
+	
+	public CachedResponse(byte[] body, String tag) {
+		this.body = body;
+		this.tag = tag;
+	}
+	
+	public byte[] getBody() {
+		return body;
+	}
+	
+	public String getTag() {
+		return tag;
+	}
+}
@@ -0,0 +1,242 @@
+package com.forleven.backenddevelopertest.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forleven.backenddevelopertest.config.PrimaryRouting;
+import com.forleven.backenddevelopertest.dao.StudentRepository;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Answers whether an enrollment ID may exist without querying the database. Inserts made by
+ * this instance are added as they happen; inserts and enrollment ID changes made by other
+ * instances, or directly in the database, are picked up every enrollmentFilterSyncIntervalMillis
+ * by reading the students modified since the previous sync. Until that happens a negative answer
+ * for them is a wrong not found, as it is for a row committed more than
+ * enrollmentFilterSyncOverlapMillis after its last_modification stamp, until the next rebuild.
+ * The filter is therefore off unless enrollmentFilterEnabled is set, which is only safe when this
+ * instance is the single writer. Once syncs stop succeeding for enrollmentFilterSyncOverlapMillis
+ * the filter is considered stale and every lookup goes to the database.
+ */
+@Component
+public class EnrollmentIdFilter implements MeterBinder {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EnrollmentIdFilter.class);
+	
+	private final StudentRepository studentRepository;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final long expectedInsertions;
+	
+	private final double falsePositiveProbability;
+	
+	private final long syncOverlapMillis;
+	
+	private final boolean enabled;
+	
+	// Null until the first build completes, in which case every enrollment ID might exist
+	private volatile BloomFilter<CharSequence> filter;
+	
+	private volatile BloomFilter<CharSequence> building;
+	
+	private final LongAdder negatives = new LongAdder();
+	
+	private final LongAdder falsePositives = new LongAdder();
+	
+	private final AtomicLong rebuilds = new AtomicLong();
+	
+	private final AtomicLong failedRebuilds = new AtomicLong();
+	
+	private volatile long lastRebuildNanos;
+	
+	// Students modified since this instant, minus the overlap, are read by the next sync
+	private volatile Instant syncedUntil;
+	
+	private volatile long lastSyncNanos;
+	
+	@Autowired
+	public EnrollmentIdFilter(StudentRepository studentRepository, PlatformTransactionManager transactionManager, @Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.studentRepository = studentRepository;
+		// Its reads are pinned to the primary: a lagging replica would leave recent enrollment IDs
+		// out of the filter and turn their lookups into false not founds
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.expectedInsertions = props.enrollmentFilterExpectedInsertions();
+		this.falsePositiveProbability = props.enrollmentFilterFalsePositiveProbability();
+		this.syncOverlapMillis = props.enrollmentFilterSyncOverlapMillis();
+		this.enabled = props.enrollmentFilterEnabled();
+	}
+	
+	public boolean mightContain(String enrollmentId) {
+		BloomFilter<CharSequence> current = filter;
+		if (current == null || isStale() || current.mightContain(enrollmentId)) {
+			return true;
+		}
+		negatives.increment();
+		return false;
+	}
+	
+	public void recordFalsePositive() {
+		// A stale filter answers every lookup with true, so its misses are not false positives
+		if (isReady()) {
+			falsePositives.increment();
+		}
+	}
+	
+	public void put(String enrollmentId) {
+		if (!enabled) {
+			return;
+		}
+		add(enrollmentId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// A rebuild started before this commit may have read a snapshot without it
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					add(enrollmentId);
+				}
+			});
+		}
+	}
+	
+	public boolean isReady() {
+		return filter != null && !isStale();
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		rebuild();
+	}
+	
+	@Scheduled(fixedDelayString="${student.service.enrollmentFilterRebuildIntervalMillis}", initialDelayString="${student.service.enrollmentFilterRebuildIntervalMillis}")
+	public synchronized void rebuild() {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			long count = readFromPrimary(status -> studentRepository.count());
+			BloomFilter<CharSequence> next = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), Math.max(expectedInsertions, count * 2), falsePositiveProbability);
+			Instant readFrom = Instant.now();
+			long readFromNanos = System.nanoTime();
+			// Published before the snapshot below is opened, so an insert committed after the snapshot
+			// still reaches the new filter through put
+			building = next;
+			readFromPrimary(status -> {
+				try (Stream<String> enrollmentIds = studentRepository.streamEnrollmentIds()) {
+					enrollmentIds.forEach(next::put);
+				}
+				return null;
+			});
+			filter = next;
+			syncedUntil = readFrom;
+			lastSyncNanos = readFromNanos;
+			negatives.reset();
+			falsePositives.reset();
+			rebuilds.incrementAndGet();
+		} catch (RuntimeException e) {
+			failedRebuilds.incrementAndGet();
+			LOGGER.warn("Could not rebuild the enrollment ID filter", e);
+		} finally {
+			building = null;
+			lastRebuildNanos = System.nanoTime() - start;
+		}
+	}
+	
+	@Scheduled(fixedDelayString="${student.service.enrollmentFilterSyncIntervalMillis}", initialDelayString="${student.service.enrollmentFilterSyncIntervalMillis}")
+	public void sync() {
+		Instant since = syncedUntil;
+		if (filter == null || since == null) {
+			return;
+		}
+		Instant readFrom = Instant.now();
+		long readFromNanos = System.nanoTime();
+		try {
+			// The overlap covers transactions still open at the previous sync and clock differences between instances
+			readFromPrimary(status -> studentRepository.findEnrollmentIdsModifiedSince(since.minusMillis(syncOverlapMillis))).forEach(this::add);
+			syncedUntil = readFrom;
+			lastSyncNanos = readFromNanos;
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not sync the enrollment ID filter", e);
+		}
+	}
+	
+	private <T> T readFromPrimary(TransactionCallback<T> action) {
+		return PrimaryRouting.call(() -> transactionTemplate.execute(action));
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("student.enrollment.filter.fpp", this, f -> f.filter == null ? 1.0 : f.filter.expectedFpp())
+				.description("False positive probability expected from the current filter fill")
+				.tag("kind", "expected")
+				.register(registry);
+		Gauge.builder("student.enrollment.filter.fpp", this, EnrollmentIdFilter::observedFalsePositiveRate)
+				.description("False positives over all absent enrollment IDs checked since the last rebuild")
+				.tag("kind", "observed")
+				.register(registry);
+		Gauge.builder("student.enrollment.filter.size", this, f -> f.filter == null ? 0 : f.filter.approximateElementCount())
+				.register(registry);
+		FunctionCounter.builder("student.enrollment.filter.negatives", negatives, LongAdder::sum)
+				.description("Lookups answered as absent without querying the database")
+				.register(registry);
+		FunctionCounter.builder("student.enrollment.filter.rebuilds", rebuilds, AtomicLong::get)
+				.tag("outcome", "SUCCESS")
+				.register(registry);
+		FunctionCounter.builder("student.enrollment.filter.rebuilds", failedRebuilds, AtomicLong::get)
+				.tag("outcome", "ERROR")
+				.register(registry);
+		TimeGauge.builder("student.enrollment.filter.rebuild.duration", this, TimeUnit.NANOSECONDS, f -> f.lastRebuildNanos)
+				.register(registry);
+		TimeGauge.builder("student.enrollment.filter.sync.age", this, TimeUnit.NANOSECONDS, f -> f.filter == null ? 0 : System.nanoTime() - f.lastSyncNanos)
+				.description("Time since the filter last caught up with the database; past the sync overlap every lookup queries the database")
+				.register(registry);
+	}
+	
+	private boolean isStale() {
+		return System.nanoTime() - lastSyncNanos > TimeUnit.MILLISECONDS.toNanos(syncOverlapMillis);
+	}
+	
+	private double observedFalsePositiveRate() {
+		double falsePositiveCount = falsePositives.sum();
+		double total = falsePositiveCount + negatives.sum();
+		return total == 0 ? 0 : falsePositiveCount / total;
+	}
+	
+	private void add(String enrollmentId) {
+		BloomFilter<CharSequence> current = filter;
+		if (current != null) {
+			current.put(enrollmentId);
+		}
+		BloomFilter<CharSequence> next = building;
+		if (next != null) {
+			next.put(enrollmentId);
+		}
+	}
+}
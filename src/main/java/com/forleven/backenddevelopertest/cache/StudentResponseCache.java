@@ -0,0 +1,90 @@
+package com.forleven.backenddevelopertest.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+@Component
+public class StudentResponseCache implements MeterBinder {
+	// Invalidations only bump the generation of their own stripe, so writes to one student
+	// do not keep responses loaded concurrently for unrelated students out of the cache
+	private static final int GENERATION_STRIPES = 1024;
+	
+	private final Cache<String, CachedResponse> cache;
+	
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+	
+	@Autowired
+	public StudentResponseCache(@Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.cache = CacheBuilder.newBuilder()
+				.maximumSize(props.cacheMaximumSize())
+				.expireAfterWrite(props.cacheExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+	}
+	
+	public CachedResponse getIfPresent(String enrollmentId) {
+		return cache.getIfPresent(enrollmentId);
+	}
+	
+	public long generation(String enrollmentId) {
+		return generations.get(stripe(enrollmentId));
+	}
+	
+	public void put(String enrollmentId, CachedResponse response, long loadedAtGeneration) {
+		// A response loaded while an invalidation was happening may already be stale
+		if (generation(enrollmentId) == loadedAtGeneration) {
+			cache.put(enrollmentId, response);
+		}
+	}
+	
+	public void invalidate(String... enrollmentIds) {
+		evict(enrollmentIds);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evict(enrollmentIds);
+				}
+			});
+		}
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		GuavaCacheMetrics.monitor(registry, cache, "student.responses");
+	}
+	
+	public CacheStats stats() {
+		return cache.stats();
+	}
+	
+	public long size() {
+		return cache.size();
+	}
+	
+	private void evict(String... enrollmentIds) {
+		for (String enrollmentId : enrollmentIds) {
+			generations.incrementAndGet(stripe(enrollmentId));
+			cache.invalidate(enrollmentId);
+		}
+	}
+	
+	private static int stripe(String enrollmentId) {
+		return Math.floorMod(enrollmentId.hashCode(), GENERATION_STRIPES);
+	}
+}
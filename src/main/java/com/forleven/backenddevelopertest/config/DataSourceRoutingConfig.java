@@ -0,0 +1,40 @@
+package com.forleven.backenddevelopertest.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix="student.datasource.replica", name="jdbc-url")
+public class DataSourceRoutingConfig {
+	@Bean
+	@ConfigurationProperties(prefix="spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+	
+	@Bean
+	@ConfigurationProperties(prefix="student.datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		HikariDataSource replica = new HikariDataSource();
+		replica.setPoolName("replica");
+		replica.setReadOnly(true);
+		return replica;
+	}
+	
+	// The connection is fetched on the first statement, once the transaction's read-only flag is visible to the routing key
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, @Qualifier("replicaDataSource") DataSource replica) {
+		return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica));
+	}
+}
@@ -0,0 +1,29 @@
+package com.forleven.backenddevelopertest.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the connections fetched by read-only transactions to the primary, for reads whose results
+ * outlive the request, such as cached responses, where a lagging replica would leave them behind
+ * the last write. Only connections fetched while pinned are affected, so the pin has to be taken
+ * before the transaction runs its first statement.
+ */
+public final class PrimaryRouting {
+	private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+	private PrimaryRouting() {}
+
+	public static <T> T call(Supplier<T> action) {
+		int[] depth = DEPTH.get();
+		depth[0]++;
+		try {
+			return action.get();
+		} finally {
+			depth[0]--;
+		}
+	}
+
+	public static boolean isPinned() {
+		return DEPTH.get()[0] > 0;
+	}
+}
@@ -0,0 +1,36 @@
+package com.forleven.backenddevelopertest.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.core.Disposable;
+
+@Configuration
+public class ReactiveDatabaseConfig implements DisposableBean {
+	// Not registered as a bean: Boot stops auto-configuring the JDBC DataSource used by JPA once a ConnectionFactory bean exists
+	private ConnectionFactory connectionFactory;
+	
+	@Bean
+	public DatabaseClient reactiveDatabaseClient(@Value("${student.r2dbc.url}") String url,
+			                                     @Value("${student.r2dbc.username}") String username,
+			                                     @Value("${student.r2dbc.password}") String password) {
+		connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+				.option(ConnectionFactoryOptions.USER, username)
+				.option(ConnectionFactoryOptions.PASSWORD, password)
+				.build());
+		return DatabaseClient.create(connectionFactory);
+	}
+	
+	@Override
+	public void destroy() {
+		if (connectionFactory instanceof Disposable) {
+			((Disposable) connectionFactory).dispose();
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.forleven.backenddevelopertest.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+	public enum Route { PRIMARY, REPLICA }
+
+	public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica) {
+		setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PrimaryRouting.isPinned() ? Route.REPLICA : Route.PRIMARY;
+	}
+}
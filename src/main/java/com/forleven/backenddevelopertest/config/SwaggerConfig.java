@@ -6,6 +6,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+
 import springfox.bean.validators.configuration.BeanValidatorPluginsConfiguration;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
@@ -27,6 +30,7 @@ public class SwaggerConfig {
 				.paths(PathSelectors.regex("/api.*"))
 				.build()
 				.apiInfo(metaInfo())
+				.directModelSubstitute(Student.class, StudentDTO.class)
 				.useDefaultResponseMessages(false);
 	}
 	
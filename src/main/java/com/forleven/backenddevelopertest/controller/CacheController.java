@@ -0,0 +1,37 @@
+package com.forleven.backenddevelopertest.controller;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forleven.backenddevelopertest.cache.StudentResponseCache;
+import com.forleven.backenddevelopertest.dto.CacheStatsDTO;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("/api/cache")
+@Api(tags="Cache")
+@CrossOrigin(origins="*")
+public class CacheController {
+	private StudentResponseCache responseCache;
+	
+	@Autowired
+	public CacheController(StudentResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+	
+	@GetMapping("/students")
+	@ApiOperation(value="Retorna as estatísticas do cache de estudantes")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estatísticas do cache")})
+	public CacheStatsDTO studentCacheStats() {
+		return CacheStatsDTO.from(responseCache.size(), responseCache.stats());
+	}
+}
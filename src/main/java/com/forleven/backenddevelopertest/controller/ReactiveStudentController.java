@@ -0,0 +1,50 @@
+package com.forleven.backenddevelopertest.controller;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.service.IReactiveStudentService;
+import com.forleven.backenddevelopertest.validation.StudentDTOValidator;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/reactive")
+@Api(tags="Students (Reactive)")
+@CrossOrigin(origins="*")
+public class ReactiveStudentController {
+	private IReactiveStudentService studentService;
+	
+	@Autowired
+	public ReactiveStudentController(IReactiveStudentService studentService) {
+		this.studentService = studentService;
+	}
+	
+	@GetMapping("/students")
+	@ApiOperation(value="Retorna lista de estudantes cadastrados sem bloquear threads do servidor", response=StudentDTO.class, responseContainer="List")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna lista de estudantes cadastrados")})
+	public Flux<StudentDTO> findAll() {
+		return studentService.findAll().map(StudentDTO::from);
+	}
+	
+	@GetMapping("/students/{enrollmentId}")
+	@ApiOperation(value="Retorna um determinado estudante com base em seu número de matrícula atual sem bloquear threads do servidor", response=StudentDTO.class)
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante já cadastrado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public Mono<StudentDTO> getStudent(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") String enrollmentId) {
+		StudentDTOValidator.requireValidEnrollmentId(enrollmentId);
+		return studentService.find(enrollmentId).map(StudentDTO::from);
+	}
+}
@@ -0,0 +1,64 @@
+package com.forleven.backenddevelopertest.controller;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forleven.backenddevelopertest.dto.StudentChangesDTO;
+import com.forleven.backenddevelopertest.exception.FieldViolationException;
+import com.forleven.backenddevelopertest.service.ChangeCursor;
+import com.forleven.backenddevelopertest.service.IStudentChangeService;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("/api")
+@Api(tags="Students")
+@CrossOrigin(origins="*")
+@Validated
+public class StudentChangeController {
+	private IStudentChangeService changeService;
+
+	@Autowired
+	public StudentChangeController(IStudentChangeService changeService) {
+		this.changeService = changeService;
+	}
+
+	@GetMapping("/students/changes")
+	@ApiOperation(value="Retorna os estudantes criados, alterados e removidos após o cursor, na ordem em que as mudanças ocorreram")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna mudanças e o cursor para continuar a leitura"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public CompletableFuture<StudentChangesDTO> getChanges(@RequestParam(required=false) @ApiParam(name="since", value="Cursor returned as next by the previous call, absent to read every change") String since,
+			                                               @RequestParam(defaultValue="100") @ApiParam(name="limit", value="Maximum number of changes returned") @Min(value=1, message="The limit must be at least 1") int limit,
+			                                               @RequestParam(defaultValue="0") @ApiParam(name="wait", value="Seconds to wait for a change when there is none yet") @Min(value=0, message="The wait must not be negative") int wait) {
+		ChangeCursor cursor = since == null ? ChangeCursor.START : parse(since);
+		return changeService.awaitChanges(cursor, limit, TimeUnit.SECONDS.toMillis(wait)).thenApply(StudentChangesDTO::from);
+	}
+
+	private static ChangeCursor parse(String since) {
+		try {
+			return ChangeCursor.parse(since);
+		} catch (IllegalArgumentException e) {
+			Map<String, TreeSet<String>> errors = new TreeMap<>();
+			errors.put("since", new TreeSet<>());
+			errors.get("since").add("The cursor must be one returned as next by a previous call");
+			throw new FieldViolationException(errors);
+		}
+	}
+}
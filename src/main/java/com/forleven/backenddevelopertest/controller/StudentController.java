@@ -1,15 +1,26 @@
 package com.forleven.backenddevelopertest.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import javax.servlet.http.HttpServletResponse;
-import javax.validation.Valid;
-import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,15 +30,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.forleven.backenddevelopertest.cache.CachedResponse;
+import com.forleven.backenddevelopertest.cache.StudentResponseCache;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.BatchItemResultDTO;
+import com.forleven.backenddevelopertest.dto.PageDTO;
 import com.forleven.backenddevelopertest.dto.StudentDTO;
-import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.exception.ExistsErrorBodies;
+import com.forleven.backenddevelopertest.exception.FieldViolationException;
 import com.forleven.backenddevelopertest.service.IStudentService;
+import com.forleven.backenddevelopertest.service.NameCursor;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.EntityTags;
 import com.forleven.backenddevelopertest.validation.CreateValidate;
 import com.forleven.backenddevelopertest.validation.DeleteValidate;
+import com.forleven.backenddevelopertest.validation.StudentDTOValidator;
 import com.forleven.backenddevelopertest.validation.UpdateSpecValidate;
 import com.forleven.backenddevelopertest.validation.UpdateValidate;
 
@@ -36,6 +62,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import springfox.documentation.annotations.ApiIgnore;
 
 @RestController
 @RequestMapping("/api")
@@ -43,64 +70,228 @@ import io.swagger.annotations.ApiResponses;
 @CrossOrigin(origins="*")
 @Validated
 public class StudentController {
+	private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	
 	private IStudentService studentService;
 	
+	private ObjectWriter studentWriter;
+	
+	private StudentResponseCache responseCache;
+	
+	private ExistsErrorBodies errorBodies;
+	
 	@Autowired
-	public StudentController(IStudentService studentService) {
+	public StudentController(IStudentService studentService, ObjectMapper objectMapper, StudentResponseCache responseCache, ExistsErrorBodies errorBodies) {
 		this.studentService = studentService;
+		this.studentWriter = objectMapper.writerFor(Student.class);
+		this.responseCache = responseCache;
+		this.errorBodies = errorBodies;
 	}
 	
 	@GetMapping("/students")
 	@ApiOperation(value="Retorna lista de estudantes cadastrados")
-	@ApiResponses(value= {@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna lista de estudantes cadastrados")})
-	public List<StudentDTO> findAll() {
-		return studentService.findAll().stream().map(StudentDTO::from).collect(Collectors.toList());
+	@ApiResponses(value= {@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna lista de estudantes cadastrados"), @ApiResponse(code=HttpServletResponse.SC_NOT_MODIFIED, message="Not modified")})
+	public List<Student> findAll(@ApiIgnore WebRequest request) {
+		if (request.checkNotModified(studentService.findAllTag())) {
+			return null;
+		}
+		return studentService.findAll();
 	}
-	
+
+	@GetMapping(value="/students", params="limit")
+	@ApiOperation(value="Retorna uma página de estudantes cadastrados, ordenada pelo cursor")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna página de estudantes cadastrados"), @ApiResponse(code=HttpServletResponse.SC_NOT_MODIFIED, message="Not modified"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public PageDTO<Student> findPage(@RequestParam(defaultValue="0") @ApiParam(name="after", value="Cursor returned as next by the previous page") @Min(value=0, message="The cursor must not be negative") int after,
+			                            @RequestParam @ApiParam(name="limit", value="Maximum number of students in the page") @Min(value=1, message="The limit must be at least 1") int limit,
+			                            @ApiIgnore WebRequest request) {
+		if (request.checkNotModified(studentService.findPageTag(after, limit))) {
+			return null;
+		}
+		Slice<Student> students = studentService.findAll(after, limit);
+		return new PageDTO<>(students.getContent(),
+				students.hasNext() ? String.valueOf(students.getContent().get(students.getNumberOfElements() - 1).getId()) : null);
+	}
+
+	@GetMapping("/students/search")
+	@ApiOperation(value="Pesquisa estudantes pelo nome e sobrenome, ordenados por sobrenome, nome e id")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna página de estudantes encontrados"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public PageDTO<Student> search(@RequestParam(required=false) @ApiParam(name="firstName", value="Student first name") String firstName,
+			                          @RequestParam(required=false) @ApiParam(name="lastName", value="Student last name") String lastName,
+			                          @RequestParam(defaultValue="false") @ApiParam(name="prefix", value="Match names starting with the given values instead of the whole names") boolean prefix,
+			                          @RequestParam(required=false) @ApiParam(name="after", value="Cursor returned as next by the previous page, absent for the first page") String after,
+			                          @RequestParam(defaultValue="20") @ApiParam(name="size", value="Maximum number of students in the page") @Min(value=1, message="The size must be at least 1") int size) {
+		Slice<Student> students = studentService.search(firstName, lastName, prefix, after == null ? null : parseNameCursor(after), size);
+		return new PageDTO<>(students.getContent(),
+				students.hasNext() ? NameCursor.of(students.getContent().get(students.getNumberOfElements() - 1)).toString() : null);
+	}
+
+	@GetMapping(value="/students/export", produces=APPLICATION_NDJSON_VALUE)
+	@ApiOperation(value="Exporta todos os estudantes cadastrados, um documento JSON por linha")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudantes cadastrados em formato NDJSON")})
+	public void exportStudents(HttpServletResponse response) throws IOException {
+		response.setContentType(APPLICATION_NDJSON_VALUE);
+		OutputStream out = response.getOutputStream();
+		try {
+			studentService.forEach(student -> {
+				try {
+					out.write(studentWriter.writeValueAsBytes(student));
+					out.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		out.flush();
+	}
+
 	@GetMapping("/students/{enrollmentId}")
-	@ApiOperation(value="Retorna um determinado estudante com base em seu número de matrícula atual")
-	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante já cadastrado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
-	public StudentDTO getStudent(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") @Valid @Pattern(regexp="^[0-9]+$", message="The enrollment ID must be composed of numerical digits only") @Size(min=3, message="The enrollment ID must have a size of at least 3 characters") String enrollmentId) throws RequirementViolationException {
-		return StudentDTO.from(studentService.find(enrollmentId));
+	@ApiOperation(value="Retorna um determinado estudante com base em seu número de matrícula atual", response=StudentDTO.class)
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante já cadastrado"), @ApiResponse(code=HttpServletResponse.SC_NOT_MODIFIED, message="Not modified"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<byte[]> getStudent(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") String enrollmentId, @ApiIgnore WebRequest request) throws IOException {
+		StudentDTOValidator.requireValidEnrollmentId(enrollmentId);
+		CachedResponse response = responseCache.getIfPresent(enrollmentId);
+		if (response == null) {
+			String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+			if (ifNoneMatch != null) {
+				// A revalidation reads only the version, and loads the student just when it changed
+				ServiceResult<String> tag = studentService.tryFindTag(enrollmentId);
+				if (!tag.isSuccess()) {
+					return errorBodies.of(tag);
+				}
+				if (EntityTags.matches(ifNoneMatch, tag.get()) && request.checkNotModified(tag.get())) {
+					return null;
+				}
+			}
+			long generation = responseCache.generation(enrollmentId);
+			ServiceResult<Student> student = studentService.tryFind(enrollmentId);
+			if (!student.isSuccess()) {
+				return errorBodies.of(student);
+			}
+			// The tag and the body come from the same read, so a revalidation can never pair one version's tag with another's body
+			response = new CachedResponse(studentWriter.writeValueAsBytes(student.get()), EntityTags.ofVersion(student.get().getId(), student.get().getVersion()));
+			responseCache.put(enrollmentId, response, generation);
+		}
+		if (request.checkNotModified(response.getTag())) {
+			return null;
+		}
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response.getBody());
 	}
 	
 	@PostMapping("/students")
-	@ApiOperation(value="Salva um determinado estudante")
+	@ApiOperation(value="Salva um determinado estudante", response=StudentDTO.class)
 	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante que foi registrado"), @ApiResponse(code=HttpServletResponse.SC_CONFLICT, message="Already exists"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
-	public StudentDTO addStudent(@RequestBody @ApiParam(name="student", value="Student") @Validated(CreateValidate.class) StudentDTO dto) throws RequirementViolationException {
-		return StudentDTO.from(studentService.save(dto.toStudent()));
+	public ResponseEntity<?> addStudent(@RequestBody @ApiParam(name="student", value="Student") StudentDTO dto) {
+		StudentDTOValidator.requireValid(dto, CreateValidate.class);
+		ServiceResult<Student> student = studentService.trySave(dto.toStudent());
+		return student.isSuccess() ? ResponseEntity.ok(StudentDTO.from(student.get())) : errorBodies.of(student);
+	}
+	
+	@PostMapping("/students:batch")
+	@ApiOperation(value="Salva uma lista de estudantes, informando o resultado de cada um")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna o resultado de cada estudante da lista"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public List<BatchItemResultDTO> addStudents(@RequestBody @ApiParam(name="students", value="Students") @Size(max=1000, message="The batch must have at most 1000 students") List<StudentDTO> dtos) {
+		BatchItemResultDTO[] results = new BatchItemResultDTO[dtos.size()];
+		List<Student> students = new ArrayList<>(dtos.size());
+		Map<Student, Integer> indexes = new IdentityHashMap<>();
+		for (int i = 0; i < dtos.size(); i++) {
+			StudentDTO dto = dtos.get(i);
+			Map<String, TreeSet<String>> errors = validate(dto, CreateValidate.class);
+			if (errors.isEmpty()) {
+				Student student = dto.toStudent();
+				students.add(student);
+				indexes.put(student, i);
+			} else {
+				results[i] = BatchItemResultDTO.invalid(i, dto == null ? null : dto.getEnrollmentId(), errors);
+			}
+		}
+		
+		studentService.saveAll(students).forEach(student -> {
+			int index = indexes.get(student);
+			results[index] = BatchItemResultDTO.created(index, StudentDTO.from(student));
+		});
+		indexes.forEach((student, index) -> {
+			if (results[index] == null) {
+				results[index] = BatchItemResultDTO.alreadyExists(index, student.getEnrollmentId());
+			}
+		});
+		return Arrays.asList(results);
 	}
 	
 	@PutMapping("/students/{enrollmentId}")
-	@ApiOperation(value="Atualiza um determinado estudante com base em seu número de matrícula atual")
-	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante que teve seu cadastro alterado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
-	public StudentDTO updateStudent(@RequestBody @ApiParam(name="student", value="Student") @Validated(UpdateSpecValidate.class) StudentDTO dto,
-			                        @PathVariable @ApiParam(name="enrollmentId", value="Current Student Enrollment ID") @Valid @Pattern(regexp="^[0-9]+$", message="The enrollment ID must be composed of numerical digits only") @Size(min=3, message="The enrollment ID must have a size of at least 3 characters") String enrollmentId) throws RequirementViolationException {
-		return StudentDTO.from(studentService.update(dto.toStudent(), enrollmentId));
+	@ApiOperation(value="Atualiza um determinado estudante com base em seu número de matrícula atual", response=StudentDTO.class)
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante que teve seu cadastro alterado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_PRECONDITION_FAILED, message="Precondition failed"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<?> updateStudent(@RequestBody @ApiParam(name="student", value="Student") StudentDTO dto,
+			                        @PathVariable @ApiParam(name="enrollmentId", value="Current Student Enrollment ID") String enrollmentId,
+			                        @RequestHeader(value=HttpHeaders.IF_MATCH, required=false) @ApiParam(name="If-Match", value="ETag of the student version being changed") String ifMatch) {
+		StudentDTOValidator.requireValid(dto, UpdateSpecValidate.class);
+		StudentDTOValidator.requireValidEnrollmentId(enrollmentId);
+		return updated(studentService.tryUpdate(dto.toStudent(), enrollmentId, ifMatch));
 	}
 	
 	@PutMapping("/students")
-	@ApiOperation(value="Atualiza um determinado estudante")
-	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante que teve seu cadastro alterado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
-	public StudentDTO updateStudent(@RequestBody @ApiParam(name="student", value="Student") @Validated(UpdateValidate.class) StudentDTO dto) throws RequirementViolationException {
-		return StudentDTO.from(studentService.update(dto.toStudent()));
+	@ApiOperation(value="Atualiza um determinado estudante", response=StudentDTO.class)
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante que teve seu cadastro alterado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_PRECONDITION_FAILED, message="Precondition failed"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<?> updateStudent(@RequestBody @ApiParam(name="student", value="Student") StudentDTO dto,
+			                        @RequestHeader(value=HttpHeaders.IF_MATCH, required=false) @ApiParam(name="If-Match", value="ETag of the student version being changed") String ifMatch) {
+		StudentDTOValidator.requireValid(dto, UpdateValidate.class);
+		Student student = dto.toStudent();
+		return updated(studentService.tryUpdate(student, student.getEnrollmentId(), ifMatch));
 	}
 
 	@DeleteMapping("/students/{enrollmentId}")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
 	@ApiOperation(value="Remove um determinado estudante com base em seu número de matrícula atual")
-	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_NO_CONTENT, message="No Content - Estudante foi deletado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
-	public ResponseEntity<Void> deleteStudent(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") @Valid @Pattern(regexp="^[0-9]+$", message="The enrollment ID must be composed of numerical digits only") @Size(min=3, message="The enrollment ID must have a size of at least 3 characters") String enrollmentId) throws RequirementViolationException {
-		studentService.delete(enrollmentId);
-		return ResponseEntity.noContent().build();
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_NO_CONTENT, message="No Content - Estudante foi deletado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_PRECONDITION_FAILED, message="Precondition failed"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<?> deleteStudent(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") String enrollmentId,
+			                                  @RequestHeader(value=HttpHeaders.IF_MATCH, required=false) @ApiParam(name="If-Match", value="ETag of the student version being changed") String ifMatch) {
+		StudentDTOValidator.requireValidEnrollmentId(enrollmentId);
+		return deleted(studentService.tryDelete(enrollmentId, ifMatch));
 	}
 	
 	@DeleteMapping("/students")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
 	@ApiOperation(value="Remove um determinado estudante")
-	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_NO_CONTENT, message="No Content - Estudante foi deletado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
-	public ResponseEntity<Void> deleteStudent(@RequestBody @ApiParam(name="student", value="Student") @Validated(DeleteValidate.class) StudentDTO dto) throws RequirementViolationException {
-		studentService.delete(dto.toStudent());
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_NO_CONTENT, message="No Content - Estudante foi deletado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_PRECONDITION_FAILED, message="Precondition failed"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<?> deleteStudent(@RequestBody @ApiParam(name="student", value="Student") StudentDTO dto,
+			                                  @RequestHeader(value=HttpHeaders.IF_MATCH, required=false) @ApiParam(name="If-Match", value="ETag of the student version being changed") String ifMatch) {
+		StudentDTOValidator.requireValid(dto, DeleteValidate.class);
+		return deleted(studentService.tryDelete(dto.getEnrollmentId(), ifMatch));
+	}
+	
+	private ResponseEntity<?> updated(ServiceResult<Student> result) {
+		if (!result.isSuccess()) {
+			return errorBodies.of(result);
+		}
+		Student student = result.get();
+		return ResponseEntity.ok().eTag(EntityTags.ofVersion(student.getId(), student.getVersion())).body(StudentDTO.from(student));
+	}
+	
+	private ResponseEntity<?> deleted(ServiceResult<Integer> result) {
+		if (!result.isSuccess()) {
+			return errorBodies.of(result);
+		}
 		return ResponseEntity.noContent().build();
 	}
+	
+	private static NameCursor parseNameCursor(String after) {
+		try {
+			return NameCursor.parse(after);
+		} catch (IllegalArgumentException e) {
+			Map<String, TreeSet<String>> errors = new TreeMap<>();
+			errors.put("after", new TreeSet<>());
+			errors.get("after").add("The cursor must be one returned as next by a previous page");
+			throw new FieldViolationException(errors);
+		}
+	}
+	
+	private Map<String, TreeSet<String>> validate(StudentDTO dto, Class<?> group) {
+		if (dto == null) {
+			Map<String, TreeSet<String>> errors = new TreeMap<>();
+			errors.put("student", new TreeSet<>(Collections.singleton("The student cannot be null")));
+			return errors;
+		}
+		return StudentDTOValidator.validate(dto, group);
+	}
 }
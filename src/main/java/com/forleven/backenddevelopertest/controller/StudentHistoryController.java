@@ -0,0 +1,78 @@
+package com.forleven.backenddevelopertest.controller;
+
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+import com.forleven.backenddevelopertest.dto.PageDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.dto.StudentHistoryDTO;
+import com.forleven.backenddevelopertest.exception.ExistsErrorBodies;
+import com.forleven.backenddevelopertest.service.IStudentHistoryService;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.validation.StudentDTOValidator;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("/api")
+@Api(tags="Students")
+@CrossOrigin(origins="*")
+@Validated
+public class StudentHistoryController {
+	private IStudentHistoryService historyService;
+	
+	private ExistsErrorBodies errorBodies;
+	
+	@Autowired
+	public StudentHistoryController(IStudentHistoryService historyService, ExistsErrorBodies errorBodies) {
+		this.historyService = historyService;
+		this.errorBodies = errorBodies;
+	}
+	
+	@GetMapping(value="/students/{enrollmentId}/history", params="asOf")
+	@ApiOperation(value="Retorna um determinado estudante, com seus telefones, como estava cadastrado no instante informado", response=StudentDTO.class)
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna estudante como estava no instante informado"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<?> getStudentAsOf(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") String enrollmentId,
+			                                @RequestParam @DateTimeFormat(iso=DateTimeFormat.ISO.DATE_TIME) @ApiParam(name="asOf", value="ISO-8601 instant, e.g. 2020-08-01T13:00:00Z") Instant asOf) {
+		StudentDTOValidator.requireValidEnrollmentId(enrollmentId);
+		ServiceResult<Student> student = historyService.tryFindAsOf(enrollmentId, asOf);
+		return student.isSuccess() ? ResponseEntity.ok(student.get()) : errorBodies.of(student);
+	}
+	
+	@GetMapping("/students/{enrollmentId}/history")
+	@ApiOperation(value="Retorna as versões anteriores de um determinado estudante, da mais recente para a mais antiga")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna página do histórico do estudante"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request")})
+	public ResponseEntity<?> getStudentHistory(@PathVariable @ApiParam(name="enrollmentId", value="Student Enrollment ID") String enrollmentId,
+			                                   @RequestParam(defaultValue="0") @ApiParam(name="page", value="Page number, starting at 0") @Min(value=0, message="The page must not be negative") int page,
+			                                   @RequestParam(defaultValue="20") @ApiParam(name="size", value="Maximum number of versions in the page") @Min(value=1, message="The size must be at least 1") int size) {
+		StudentDTOValidator.requireValidEnrollmentId(enrollmentId);
+		ServiceResult<Slice<StudentHistory>> history = historyService.tryFindHistory(enrollmentId, page, size);
+		if (!history.isSuccess()) {
+			return errorBodies.of(history);
+		}
+		Slice<StudentHistory> versions = history.get();
+		return ResponseEntity.ok(new PageDTO<>(versions.getContent().stream().map(StudentHistoryDTO::from).collect(Collectors.toList()),
+				versions.hasNext() ? String.valueOf(page + 1) : null));
+	}
+}
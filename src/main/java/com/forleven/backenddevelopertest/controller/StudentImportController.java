@@ -0,0 +1,75 @@
+package com.forleven.backenddevelopertest.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.forleven.backenddevelopertest.dto.StudentImportJobDTO;
+import com.forleven.backenddevelopertest.importer.StudentImportJob;
+import com.forleven.backenddevelopertest.importer.StudentImportService;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import springfox.documentation.annotations.ApiIgnore;
+
+@RestController
+@RequestMapping("/api")
+@Api(tags="Students")
+@CrossOrigin(origins="*")
+public class StudentImportController {
+	private static final String TEXT_CSV_VALUE = "text/csv";
+
+	private StudentImportService importService;
+
+	@Autowired
+	public StudentImportController(StudentImportService importService) {
+		this.importService = importService;
+	}
+
+	@PostMapping(value="/students:import", consumes=MediaType.MULTIPART_FORM_DATA_VALUE)
+	@ApiOperation(value="Importa estudantes de um arquivo CSV enviado como formulário, em segundo plano")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_ACCEPTED, message="Accepted - Retorna a importação criada e seu endereço no cabeçalho Location"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request"), @ApiResponse(code=HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, message="Payload too large - O arquivo excede o tamanho máximo"), @ApiResponse(code=HttpServletResponse.SC_SERVICE_UNAVAILABLE, message="Service unavailable - Fila de importações cheia, tente após o tempo do cabeçalho Retry-After")})
+	public ResponseEntity<StudentImportJobDTO> importStudents(@RequestPart @ApiParam(name="file", value="CSV with the enrollmentId, firstName, lastName and optional phones columns") MultipartFile file) throws IOException {
+		try (InputStream csv = file.getInputStream()) {
+			return accepted(importService.start(csv));
+		}
+	}
+
+	@PostMapping(value="/students:import", consumes=TEXT_CSV_VALUE)
+	@ApiOperation(value="Importa estudantes do arquivo CSV enviado no corpo da requisição, em segundo plano")
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_ACCEPTED, message="Accepted - Retorna a importação criada e seu endereço no cabeçalho Location"), @ApiResponse(code=HttpServletResponse.SC_BAD_REQUEST, message="Invalid request"), @ApiResponse(code=HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, message="Payload too large - O arquivo excede o tamanho máximo"), @ApiResponse(code=HttpServletResponse.SC_SERVICE_UNAVAILABLE, message="Service unavailable - Fila de importações cheia, tente após o tempo do cabeçalho Retry-After")})
+	public ResponseEntity<StudentImportJobDTO> importStudents(@ApiIgnore HttpServletRequest request) throws IOException {
+		return accepted(importService.start(request.getInputStream()));
+	}
+
+	@GetMapping("/students/imports/{id}")
+	@ApiOperation(value="Retorna o andamento de uma importação de estudantes", response=StudentImportJobDTO.class)
+	@ApiResponses(value={@ApiResponse(code=HttpServletResponse.SC_OK, message="OK - Retorna progresso, vazão e erros da importação"), @ApiResponse(code=HttpServletResponse.SC_NOT_FOUND, message="Not found")})
+	public ResponseEntity<StudentImportJobDTO> getImport(@PathVariable @ApiParam(name="id", value="Import job identifier") String id) {
+		return importService.find(id).map(StudentImportJobDTO::from).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	private static ResponseEntity<StudentImportJobDTO> accepted(StudentImportJob job) {
+		URI location = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/students/imports/{id}").buildAndExpand(job.getId()).toUri();
+		return ResponseEntity.accepted().location(location).body(StudentImportJobDTO.from(job));
+	}
+}
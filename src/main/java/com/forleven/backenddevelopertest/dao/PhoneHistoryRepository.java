@@ -0,0 +1,12 @@
+package com.forleven.backenddevelopertest.dao;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.forleven.backenddevelopertest.domain.PhoneHistory;
+
+public interface PhoneHistoryRepository extends JpaRepository<PhoneHistory, Integer> {
+	public List<PhoneHistory> findByStudentIdAndHistoryInsertionAfterOrderByPhoneIdAscHistoryInsertionAscIdAsc(int studentId, Instant instant);
+}
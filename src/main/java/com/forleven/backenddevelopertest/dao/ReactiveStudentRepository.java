@@ -0,0 +1,79 @@
+package com.forleven.backenddevelopertest.dao;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class ReactiveStudentRepository {
+	private static final String SELECT_STUDENTS = "select s.id, s.first_name, s.last_name, s.enrollment_id, s.times_updated, s.last_modification, s.created_at, "
+			+ "p.id as phone_id, p.phone_number, p.phone_type, p.times_updated as phone_times_updated, p.last_modification as phone_last_modification, p.created_at as phone_created_at "
+			+ "from student s left join phone p on p.student_id = s.id ";
+	
+	private DatabaseClient databaseClient;
+	
+	private ZoneId zoneId;
+	
+	@Autowired
+	public ReactiveStudentRepository(DatabaseClient databaseClient, @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String timeZone) {
+		this.databaseClient = databaseClient;
+		this.zoneId = ZoneId.of(timeZone);
+	}
+	
+	public Flux<Student> findAll() {
+		return group(databaseClient.execute(SELECT_STUDENTS + "order by s.id, p.id")
+				.map(this::toStudent)
+				.all());
+	}
+	
+	public Mono<Student> findByEnrollmentId(String enrollmentId) {
+		return group(databaseClient.execute(SELECT_STUDENTS + "where s.enrollment_id = :enrollmentId order by p.id")
+				.bind("enrollmentId", enrollmentId)
+				.map(this::toStudent)
+				.all()).next();
+	}
+	
+	private Flux<Student> group(Flux<Student> rows) {
+		return rows.bufferUntilChanged(Student::getId).map(this::merge);
+	}
+	
+	private Student merge(List<Student> rows) {
+		Student student = rows.get(0);
+		rows.stream().skip(1).flatMap(row -> row.getPhones().stream()).forEach(phone -> student.addPhone(phone.withStudent(student)));
+		return student;
+	}
+	
+	private Student toStudent(Row row, RowMetadata metadata) {
+		Student student = new Student(row.get("id", Integer.class), row.get("first_name", String.class), row.get("last_name", String.class), row.get("enrollment_id", String.class));
+		student.setVersion(row.get("times_updated", Integer.class));
+		student.setLastModified(toInstant(row.get("last_modification", LocalDateTime.class)));
+		student.setCreatedAt(toInstant(row.get("created_at", LocalDateTime.class)));
+		
+		Integer phoneId = row.get("phone_id", Integer.class);
+		if (phoneId != null) {
+			Phone phone = new Phone(phoneId, row.get("phone_number", String.class), row.get("phone_type", String.class),
+					toInstant(row.get("phone_last_modification", LocalDateTime.class)), toInstant(row.get("phone_created_at", LocalDateTime.class)));
+			phone.setVersion(row.get("phone_times_updated", Integer.class));
+			student.addPhone(phone.withStudent(student));
+		}
+		return student;
+	}
+	
+	private Instant toInstant(LocalDateTime dateTime) {
+		return dateTime == null ? null : dateTime.atZone(zoneId).toInstant();
+	}
+}
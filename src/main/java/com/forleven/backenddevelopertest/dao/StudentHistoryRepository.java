@@ -0,0 +1,21 @@
+package com.forleven.backenddevelopertest.dao;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+
+public interface StudentHistoryRepository extends JpaRepository<StudentHistory, Integer> {
+	// The first version replaced after the instant holds the state the student had at that instant
+	public Optional<StudentHistory> findFirstByStudentIdAndHistoryInsertionAfterOrderByHistoryInsertionAscIdAsc(int studentId, Instant instant);
+	
+	public Optional<StudentHistory> findFirstByEnrollmentIdOrderByHistoryInsertionDescIdDesc(String enrollmentId);
+	
+	public Slice<StudentHistory> findByStudentIdOrderByHistoryInsertionDescIdDesc(int studentId, Pageable pageable);
+	
+	public Slice<StudentHistory> findByOperationAndIdGreaterThanOrderByIdAsc(String operation, int id, Pageable pageable);
+}
@@ -1,13 +1,91 @@
 package com.forleven.backenddevelopertest.dao;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.forleven.backenddevelopertest.domain.Student;
 
-public interface StudentRepository extends JpaRepository<Student, Integer> {
+public interface StudentRepository extends JpaRepository<Student, Integer>, StudentSliceRepository, StudentStreamRepository {
+	// Bulk deletes bypass Hibernate events, so in audit outbox mode their rows are copied to the outbox beforehand
+	public static final String RECORD_STUDENT_DELETIONS = "insert into history_outbox (entity, entity_id, student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, operation) "
+			+ "select 'student', s.id, s.id, s.first_name, s.last_name, s.enrollment_id, s.times_updated, s.last_modification, s.created_at, 'delete' from student s ";
+	
+	public static final String RECORD_PHONE_DELETIONS = "insert into history_outbox (entity, entity_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, operation) "
+			+ "select 'phone', p.id, p.student_id, p.phone_number, p.phone_type, p.times_updated, p.last_modification, p.created_at, 'delete' from phone p ";
+	
+	@Override
+	@Query("select distinct s from Student s left join fetch s.phones")
+	@QueryHints(@QueryHint(name=org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value="false"))
+	public List<Student> findAll();
+	
 	public boolean existsByEnrollmentId(String enrollmentId);
+	
+	@Query("select s.enrollmentId from Student s where s.enrollmentId in :enrollmentIds")
+	public Set<String> findExistingEnrollmentIds(Collection<String> enrollmentIds);
+	
+	@Query("select distinct s from Student s left join fetch s.phones where s.enrollmentId = :enrollmentId")
+	@QueryHints(@QueryHint(name=org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value="false"))
 	public Optional<Student> findByEnrollmentId(String enrollmentId);
-	public long deleteByEnrollmentId(String enrollmentId);
+	
+	@Query("select s.id as id, s.version as version from Student s where s.enrollmentId = :enrollmentId")
+	public Optional<StudentVersion> findVersionByEnrollmentId(String enrollmentId);
+	
+	@Query("select count(s) as count, coalesce(sum(s.id), 0) as idSum, coalesce(sum(s.version), 0) as versionSum from Student s")
+	public VersionSummary summarizeVersions();
+	
+	@Query("select s.id as id, s.version as version from Student s where s.id > :after order by s.id")
+	public Slice<StudentVersion> findVersionsByIdGreaterThan(int after, Pageable pageable);
+	
+	public Slice<Student> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+	
+	@Query("select s from Student s where s.lastModified < :until and (s.lastModified > :after or (s.lastModified = :after and s.id > :afterId)) "
+			+ "order by s.lastModified, s.id")
+	public Slice<Student> findModifiedAfter(Instant after, int afterId, Instant until, Pageable pageable);
+	
+	@Modifying(flushAutomatically=true)
+	@Query(value=RECORD_PHONE_DELETIONS + "join student s on s.id = p.student_id where s.enrollment_id = :enrollmentId", nativeQuery=true)
+	public int recordPhoneDeletionsByEnrollmentId(String enrollmentId);
+	
+	@Modifying(flushAutomatically=true)
+	@Query(value=RECORD_STUDENT_DELETIONS + "where s.enrollment_id = :enrollmentId", nativeQuery=true)
+	public int recordStudentDeletionByEnrollmentId(String enrollmentId);
+	
+	@Modifying(flushAutomatically=true)
+	@Query(value=RECORD_PHONE_DELETIONS + "where p.student_id = :studentId", nativeQuery=true)
+	public int recordPhoneDeletionsByStudentId(int studentId);
+	
+	@Modifying(flushAutomatically=true)
+	@Query(value=RECORD_STUDENT_DELETIONS + "where s.id = :id and s.times_updated = :version", nativeQuery=true)
+	public int recordStudentDeletionByIdAndVersion(int id, int version);
+	
+	@Modifying(flushAutomatically=true)
+	@Query("delete from Phone p where p.student.id in (select s.id from Student s where s.enrollmentId = :enrollmentId)")
+	public int deletePhonesByEnrollmentId(String enrollmentId);
+	
+	@Modifying(clearAutomatically=true)
+	@Query("delete from Student s where s.enrollmentId = :enrollmentId")
+	public int deleteByEnrollmentId(String enrollmentId);
+	
+	@Modifying(flushAutomatically=true)
+	@Query("delete from Phone p where p.student.id = :studentId")
+	public int deletePhonesByStudentId(int studentId);
+	
+	@Modifying(clearAutomatically=true)
+	@Query("delete from Student s where s.id = :id and s.version = :version")
+	public int deleteByIdAndVersion(int id, int version);
+	
+	@Query("select s.enrollmentId from Student s where s.lastModified >= :since")
+	public List<String> findEnrollmentIdsModifiedSince(Instant since);
 }
@@ -0,0 +1,12 @@
+package com.forleven.backenddevelopertest.dao;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+public interface StudentSliceRepository {
+	// Unlike JpaSpecificationExecutor.findAll(Specification, Pageable), never issues a count query
+	public Slice<Student> findSlice(Specification<Student> specification, Sort sort, int limit);
+}
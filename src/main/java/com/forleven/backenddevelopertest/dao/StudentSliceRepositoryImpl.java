@@ -0,0 +1,40 @@
+package com.forleven.backenddevelopertest.dao;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+public class StudentSliceRepositoryImpl implements StudentSliceRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	public Slice<Student> findSlice(Specification<Student> specification, Sort sort, int limit) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Student> query = builder.createQuery(Student.class);
+		Root<Student> root = query.from(Student.class);
+		Predicate predicate = specification == null ? null : specification.toPredicate(root, query, builder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.orderBy(QueryUtils.toOrders(sort, root, builder));
+		// One extra row tells whether there is a next slice
+		List<Student> students = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+		boolean hasNext = students.size() > limit;
+		return new SliceImpl<>(hasNext ? students.subList(0, limit) : students, PageRequest.of(0, limit, sort), hasNext);
+	}
+}
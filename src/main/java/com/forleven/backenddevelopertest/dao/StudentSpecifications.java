@@ -0,0 +1,57 @@
+package com.forleven.backenddevelopertest.dao;
+
+import javax.persistence.criteria.Path;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+/**
+ * Search predicates over the IDX_STUDENT_NAME (last_name, first_name) index. Blank filters
+ * produce no predicate at all, so the SQL only carries the conditions the caller supplied.
+ */
+public final class StudentSpecifications {
+	public static final Sort BY_NAME = Sort.by("lastName", "firstName", "id");
+	
+	private static final char ESCAPE = '!';
+	
+	private StudentSpecifications() {}
+	
+	public static Specification<Student> lastName(String value, boolean prefix) {
+		return name("lastName", value, prefix);
+	}
+	
+	public static Specification<Student> firstName(String value, boolean prefix) {
+		return name("firstName", value, prefix);
+	}
+	
+	// Keyset condition for rows after the given one in BY_NAME order; the leading
+	// last_name >= bound lets the database seek on the index instead of scanning from the start
+	public static Specification<Student> after(String lastName, String firstName, int id) {
+		return (root, query, builder) -> {
+			Path<String> last = root.get("lastName");
+			Path<String> first = root.get("firstName");
+			return builder.and(builder.greaterThanOrEqualTo(last, lastName),
+					builder.or(builder.greaterThan(last, lastName),
+							builder.greaterThan(first, firstName),
+							builder.and(builder.equal(first, firstName), builder.greaterThan(root.get("id"), id))));
+		};
+	}
+	
+	public static String toLikePattern(String value) {
+		String escaped = value.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_");
+		return escaped + "%";
+	}
+	
+	private static Specification<Student> name(String attribute, String value, boolean prefix) {
+		if (StringUtils.isBlank(value)) {
+			return null;
+		}
+		if (prefix) {
+			return (root, query, builder) -> builder.like(root.get(attribute), toLikePattern(value), ESCAPE);
+		}
+		return (root, query, builder) -> builder.equal(root.get(attribute), value.trim());
+	}
+}
@@ -0,0 +1,11 @@
+package com.forleven.backenddevelopertest.dao;
+
+import java.util.stream.Stream;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+public interface StudentStreamRepository {
+	public Stream<Student> streamAll();
+	
+	public Stream<String> streamEnrollmentIds();
+}
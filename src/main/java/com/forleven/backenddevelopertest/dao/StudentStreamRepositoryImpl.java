@@ -0,0 +1,51 @@
+package com.forleven.backenddevelopertest.dao;
+
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.QueryHints;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+public class StudentStreamRepositoryImpl implements StudentStreamRepository {
+	// MySQL Connector/J only streams rows instead of buffering the whole result for Integer.MIN_VALUE,
+	// which other drivers such as H2 reject, so they get a plain positive fetch size instead
+	private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+	
+	private static final int STREAMING_FETCH_SIZE = 1000;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	private volatile Integer fetchSize;
+	
+	@Override
+	public Stream<Student> streamAll() {
+		return stream(entityManager.createQuery("select s from Student s left join fetch s.phones order by s.id", Student.class));
+	}
+	
+	@Override
+	public Stream<String> streamEnrollmentIds() {
+		return stream(entityManager.createQuery("select s.enrollmentId from Student s", String.class));
+	}
+	
+	private <T> Stream<T> stream(TypedQuery<T> query) {
+		return query.setHint(QueryHints.HINT_FETCH_SIZE, fetchSize()).getResultStream();
+	}
+	
+	private int fetchSize() {
+		Integer size = fetchSize;
+		if (size == null) {
+			Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+			size = dialect instanceof MySQLDialect ? MYSQL_STREAMING_FETCH_SIZE : STREAMING_FETCH_SIZE;
+			fetchSize = size;
+		}
+		return size;
+	}
+}
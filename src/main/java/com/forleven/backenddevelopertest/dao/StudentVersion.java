@@ -0,0 +1,7 @@
+package com.forleven.backenddevelopertest.dao;
+
+public interface StudentVersion {
+	Integer getId();
+	
+	Integer getVersion();
+}
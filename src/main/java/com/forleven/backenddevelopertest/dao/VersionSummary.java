@@ -0,0 +1,9 @@
+package com.forleven.backenddevelopertest.dao;
+
+public interface VersionSummary {
+	Long getCount();
+	
+	Long getIdSum();
+	
+	Long getVersionSum();
+}
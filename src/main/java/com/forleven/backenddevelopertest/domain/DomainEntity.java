@@ -1,17 +1,18 @@
 package com.forleven.backenddevelopertest.domain;
 
 import java.io.Serializable;
-import java.util.Calendar;
+import java.time.Instant;
 
 import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
-import javax.persistence.Temporal;
-import javax.persistence.TemporalType;
+import javax.persistence.Version;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @MappedSuperclass
@@ -19,28 +20,36 @@ public class DomainEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="pooled_id")
+	@GenericGenerator(name="pooled_id", strategy="enhanced-sequence", parameters={
+			@Parameter(name="sequence_name", value="id_sequence"),
+			@Parameter(name="increment_size", value="50"),
+			@Parameter(name="optimizer", value="pooled-lo")})
 	@Column(name="id")
 	protected int id;
 	
+	@Version
+	@Column(name="times_updated")
+	protected int version;
+	
+	// On MySQL the triggers stamp both columns again with the database clock, so these values
+	// only stand until the row is read back
 	@Column(name="last_modification")
-	@Temporal(TemporalType.TIMESTAMP)
 	@UpdateTimestamp
-	protected Calendar lastModified = Calendar.getInstance();
+	protected Instant lastModified;
 	
 	@Column(name="created_at")
-	@Temporal(TemporalType.TIMESTAMP)
 	@CreationTimestamp
-	protected Calendar createdAt = Calendar.getInstance();
+	protected Instant createdAt;
 
 	public DomainEntity() { }
 
-	public DomainEntity(Calendar lastModified, Calendar createdAt) {
+	public DomainEntity(Instant lastModified, Instant createdAt) {
 		this.lastModified = lastModified;
 		this.createdAt = createdAt;
 	}
 
-	public DomainEntity(int id, Calendar lastModified, Calendar createdAt) {
+	public DomainEntity(int id, Instant lastModified, Instant createdAt) {
 		this.id = id;
 		this.lastModified = lastModified;
 		this.createdAt = createdAt;
@@ -54,19 +63,27 @@ public class DomainEntity implements Serializable {
 		this.id = id;
 	}
 
-	public Calendar getLastModified() {
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	public Instant getLastModified() {
 		return lastModified;
 	}
 
-	public void setLastModified(Calendar lastModified) {
+	public void setLastModified(Instant lastModified) {
 		this.lastModified = lastModified;
 	}
 
-	public Calendar getCreatedAt() {
+	public Instant getCreatedAt() {
 		return createdAt;
 	}
 
-	public void setCreatedAt(Calendar createdAt) {
+	public void setCreatedAt(Instant createdAt) {
 		this.createdAt = createdAt;
 	}
 }
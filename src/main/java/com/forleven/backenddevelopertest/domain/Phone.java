@@ -1,7 +1,7 @@
 package com.forleven.backenddevelopertest.domain;
 
 import java.io.Serializable;
-import java.util.Calendar;
+import java.time.Instant;
 import java.util.Objects;
 
 import javax.persistence.CascadeType;
@@ -11,7 +11,10 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 @Entity
+@DynamicUpdate
 @Table(name="phone")
 public class Phone extends DomainEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
@@ -34,7 +37,7 @@ public class Phone extends DomainEntity implements Serializable {
 		this.phoneType = phoneType;
 	}
 
-	public Phone(int id, String phoneNumber, String phoneType, Calendar lastModified, Calendar createdAt) {
+	public Phone(int id, String phoneNumber, String phoneType, Instant lastModified, Instant createdAt) {
 		super(id, lastModified, createdAt);
 		this.phoneNumber = phoneNumber;
 		this.phoneType = phoneType;
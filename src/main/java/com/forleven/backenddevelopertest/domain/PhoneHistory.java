@@ -0,0 +1,115 @@
+package com.forleven.backenddevelopertest.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+@Entity
+@Immutable
+@Table(name="phone_history", indexes={@Index(name="IDX_PHONE_HISTORY_PHONE", columnList="phone_id, history_insertion"),
+		@Index(name="IDX_PHONE_HISTORY_STUDENT", columnList="student_id, history_insertion")})
+public class PhoneHistory implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@Column(name="id")
+	private int id;
+	
+	@Column(name="phone_id")
+	private int phoneId;
+	
+	@Column(name="student_id")
+	private Integer studentId;
+	
+	@Column(name="phone_number")
+	private String phoneNumber;
+	
+	@Column(name="phone_type")
+	private String phoneType;
+	
+	@Column(name="times_updated")
+	private int timesUpdated;
+	
+	@Column(name="last_modification")
+	private Instant lastModified;
+	
+	@Column(name="created_at")
+	private Instant createdAt;
+	
+	@Column(name="history_insertion")
+	private Instant historyInsertion;
+	
+	@Column(name="operation")
+	private String operation;
+	
+	public PhoneHistory() { }
+	
+	public PhoneHistory(int phoneId, Integer studentId, String phoneNumber, String phoneType, int timesUpdated,
+			            Instant lastModified, Instant createdAt, Instant historyInsertion, String operation) {
+		this.phoneId = phoneId;
+		this.studentId = studentId;
+		this.phoneNumber = phoneNumber;
+		this.phoneType = phoneType;
+		this.timesUpdated = timesUpdated;
+		this.lastModified = lastModified;
+		this.createdAt = createdAt;
+		this.historyInsertion = historyInsertion;
+		this.operation = operation;
+	}
+	
+	public int getId() {
+		return id;
+	}
+
+	public int getPhoneId() {
+		return phoneId;
+	}
+
+	public Integer getStudentId() {
+		return studentId;
+	}
+
+	public String getPhoneNumber() {
+		return phoneNumber;
+	}
+
+	public String getPhoneType() {
+		return phoneType;
+	}
+
+	public int getTimesUpdated() {
+		return timesUpdated;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getHistoryInsertion() {
+		return historyInsertion;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+	
+	public Phone toPhone() {
+		Phone phone = new Phone(phoneId, phoneNumber, phoneType, lastModified, createdAt);
+		phone.setVersion(timesUpdated);
+		return phone;
+	}
+}
@@ -9,13 +9,23 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name="student")
+@DynamicUpdate
+@Table(name="student", uniqueConstraints=@UniqueConstraint(name=Student.ENROLLMENT_ID_UNIQUE, columnNames="enrollment_id"),
+		indexes={@Index(name="IDX_STUDENT_NAME", columnList="last_name, first_name"),
+				 @Index(name="IDX_STUDENT_LAST_MODIFICATION", columnList="last_modification, id")})
 public class Student extends DomainEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
+	
+	public static final String ENROLLMENT_ID_UNIQUE = "ENROLLMENT_ID_UNIQUE";
 
 	@Column(name="first_name")
 	private String firstName;
@@ -26,6 +36,7 @@ public class Student extends DomainEntity implements Serializable {
 	@Column(name="enrollment_id")
 	private String enrollmentId;
 	
+	@BatchSize(size=100)
 	@OneToMany(fetch=FetchType.EAGER,
 			   mappedBy="student",
 			   orphanRemoval=true,
@@ -0,0 +1,118 @@
+package com.forleven.backenddevelopertest.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+@Entity
+@Immutable
+@Table(name="student_history", indexes={@Index(name="IDX_STUDENT_HISTORY_STUDENT", columnList="student_id, history_insertion"),
+		@Index(name="IDX_STUDENT_HISTORY_ENROLLMENT_ID", columnList="enrollment_id, history_insertion"),
+		@Index(name="IDX_STUDENT_HISTORY_OPERATION", columnList="operation, id")})
+public class StudentHistory implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@Column(name="id")
+	private int id;
+	
+	@Column(name="student_id")
+	private int studentId;
+	
+	@Column(name="first_name")
+	private String firstName;
+	
+	@Column(name="last_name")
+	private String lastName;
+	
+	@Column(name="enrollment_id")
+	private String enrollmentId;
+	
+	@Column(name="times_updated")
+	private int timesUpdated;
+	
+	@Column(name="last_modification")
+	private Instant lastModified;
+	
+	@Column(name="created_at")
+	private Instant createdAt;
+	
+	@Column(name="history_insertion")
+	private Instant historyInsertion;
+	
+	@Column(name="operation")
+	private String operation;
+	
+	public StudentHistory() { }
+	
+	public StudentHistory(int studentId, String firstName, String lastName, String enrollmentId, int timesUpdated,
+			              Instant lastModified, Instant createdAt, Instant historyInsertion, String operation) {
+		this.studentId = studentId;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.enrollmentId = enrollmentId;
+		this.timesUpdated = timesUpdated;
+		this.lastModified = lastModified;
+		this.createdAt = createdAt;
+		this.historyInsertion = historyInsertion;
+		this.operation = operation;
+	}
+	
+	public int getId() {
+		return id;
+	}
+
+	public int getStudentId() {
+		return studentId;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public String getEnrollmentId() {
+		return enrollmentId;
+	}
+
+	public int getTimesUpdated() {
+		return timesUpdated;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getHistoryInsertion() {
+		return historyInsertion;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+	
+	public Student toStudent() {
+		Student student = new Student(studentId, firstName, lastName, enrollmentId);
+		student.setVersion(timesUpdated);
+		student.setLastModified(lastModified);
+		student.setCreatedAt(createdAt);
+		return student;
+	}
+}
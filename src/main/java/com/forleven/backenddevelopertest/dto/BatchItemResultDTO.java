@@ -0,0 +1,94 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"index", "enrollmentId", "status", "student", "errors"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiModel(value="BatchItemResult")
+public class BatchItemResultDTO {
+	public enum Status { CREATED, ALREADY_EXISTS, INVALID }
+	
+	@ApiModelProperty(notes="Position of the student in the request", example="0", position=0)
+	private int index;
+	
+	@ApiModelProperty(notes="Student Enrollment ID", example="302012345", position=1)
+	private String enrollmentId;
+	
+	@ApiModelProperty(notes="Outcome for the student", example="CREATED", position=2)
+	private Status status;
+	
+	@ApiModelProperty(notes="Student that was registered", position=3)
+	private StudentDTO student;
+	
+	@ApiModelProperty(notes="Validation errors by field", position=4)
+	private Map<String, TreeSet<String>> errors;
+	
+	public BatchItemResultDTO() { }
+	
+	public BatchItemResultDTO(int index, String enrollmentId, Status status, StudentDTO student, Map<String, TreeSet<String>> errors) {
+		this.index = index;
+		this.enrollmentId = enrollmentId;
+		this.status = status;
+		this.student = student;
+		this.errors = errors;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public String getEnrollmentId() {
+		return enrollmentId;
+	}
+
+	public void setEnrollmentId(String enrollmentId) {
+		this.enrollmentId = enrollmentId;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public StudentDTO getStudent() {
+		return student;
+	}
+
+	public void setStudent(StudentDTO student) {
+		this.student = student;
+	}
+
+	public Map<String, TreeSet<String>> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(Map<String, TreeSet<String>> errors) {
+		this.errors = errors;
+	}
+	
+	public static BatchItemResultDTO created(int index, StudentDTO student) {
+		return new BatchItemResultDTO(index, student.getEnrollmentId(), Status.CREATED, student, null);
+	}
+	
+	public static BatchItemResultDTO alreadyExists(int index, String enrollmentId) {
+		return new BatchItemResultDTO(index, enrollmentId, Status.ALREADY_EXISTS, null, null);
+	}
+	
+	public static BatchItemResultDTO invalid(int index, String enrollmentId, Map<String, TreeSet<String>> errors) {
+		return new BatchItemResultDTO(index, enrollmentId, Status.INVALID, null, errors);
+	}
+}
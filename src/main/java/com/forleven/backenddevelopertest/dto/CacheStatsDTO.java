@@ -0,0 +1,80 @@
+package com.forleven.backenddevelopertest.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.google.common.cache.CacheStats;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"size", "hitCount", "missCount", "hitRate", "evictionCount"})
+@ApiModel(value="CacheStats")
+public class CacheStatsDTO {
+	@ApiModelProperty(notes="Number of cached entries", position=0)
+	private long size;
+	
+	@ApiModelProperty(notes="Lookups served from the cache", position=1)
+	private long hitCount;
+	
+	@ApiModelProperty(notes="Lookups that were not in the cache", position=2)
+	private long missCount;
+	
+	@ApiModelProperty(notes="Ratio of lookups served from the cache", position=3)
+	private double hitRate;
+	
+	@ApiModelProperty(notes="Entries evicted by size or expiration", position=4)
+	private long evictionCount;
+	
+	public CacheStatsDTO() { }
+
+	public CacheStatsDTO(long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+		this.size = size;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.hitRate = hitRate;
+		this.evictionCount = evictionCount;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public void setSize(long size) {
+		this.size = size;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public void setHitCount(long hitCount) {
+		this.hitCount = hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public void setMissCount(long missCount) {
+		this.missCount = missCount;
+	}
+
+	public double getHitRate() {
+		return hitRate;
+	}
+
+	public void setHitRate(double hitRate) {
+		this.hitRate = hitRate;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public void setEvictionCount(long evictionCount) {
+		this.evictionCount = evictionCount;
+	}
+	
+	public static CacheStatsDTO from(long size, CacheStats stats) {
+		return new CacheStatsDTO(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+	}
+}
@@ -1,6 +1,6 @@
 package com.forleven.backenddevelopertest.dto;
 
-import java.util.Calendar;
+import java.time.Instant;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -15,20 +15,20 @@ public class DomainEntityDTO {
 	
 	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
 	@ApiModelProperty(hidden=true)
-	protected Calendar lastModified = Calendar.getInstance();
+	protected Instant lastModified;
 	
 	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
 	@ApiModelProperty(hidden=true)
-	protected Calendar createdAt = Calendar.getInstance();
+	protected Instant createdAt;
 
 	public DomainEntityDTO() { }
 
-	public DomainEntityDTO(Calendar lastModified, Calendar createdAt) {
+	public DomainEntityDTO(Instant lastModified, Instant createdAt) {
 		this.lastModified = lastModified;
 		this.createdAt = createdAt;
 	}
 	
-	public DomainEntityDTO(String id, Calendar lastModified, Calendar createdAt) {
+	public DomainEntityDTO(String id, Instant lastModified, Instant createdAt) {
 		this.id = id;
 		this.lastModified = lastModified;
 		this.createdAt = createdAt;
@@ -42,19 +42,19 @@ public class DomainEntityDTO {
 		this.id = id;
 	}
 
-	public Calendar getLastModified() {
+	public Instant getLastModified() {
 		return lastModified;
 	}
 
-	public void setLastModified(Calendar lastModified) {
+	public void setLastModified(Instant lastModified) {
 		this.lastModified = lastModified;
 	}
 
-	public Calendar getCreatedAt() {
+	public Instant getCreatedAt() {
 		return createdAt;
 	}
 
-	public void setCreatedAt(Calendar createdAt) {
+	public void setCreatedAt(Instant createdAt) {
 		this.createdAt = createdAt;
 	}
 	
@@ -0,0 +1,42 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"content", "next"})
+@ApiModel(value="Page")
+public class PageDTO<T> {
+	@ApiModelProperty(notes="Page Content", position=0)
+	private List<T> content = new ArrayList<>();
+
+	@ApiModelProperty(notes="Cursor for the next page, absent on the last page", example="42", position=1)
+	private String next;
+
+	public PageDTO() { }
+
+	public PageDTO(List<T> content, String next) {
+		this.content = content;
+		this.next = next;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+}
@@ -1,6 +1,6 @@
 package com.forleven.backenddevelopertest.dto;
 
-import java.util.Calendar;
+import java.time.Instant;
 import java.util.Objects;
 
 import javax.validation.constraints.NotBlank;
@@ -24,6 +24,7 @@ public class PhoneDTO extends DomainEntityDTO {
 
 	@ApiModelProperty(notes="Student Telephone Type", example="Mobile", required=true, position=1)
 	@NotBlank(message="The phone type field cannot be empty")	
+	@Size(max=128, message="The phone type field must have a size of at most 128 characters")
 	private String phoneType;
 	
 	public PhoneDTO() { }
@@ -39,7 +40,7 @@ public class PhoneDTO extends DomainEntityDTO {
 		this.phoneType = phoneType;
 	}
 	
-	public PhoneDTO(String id, String phoneNumber, String phoneType, Calendar lastModified, Calendar createdAt) {
+	public PhoneDTO(String id, String phoneNumber, String phoneType, Instant lastModified, Instant createdAt) {
 		super(id, lastModified, createdAt);
 		this.phoneNumber = phoneNumber;
 		this.phoneType = phoneType;
@@ -0,0 +1,75 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.service.StudentChange;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"type", "enrollmentId", "changedAt", "student"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiModel(value="StudentChange")
+public class StudentChangeDTO {
+	@ApiModelProperty(notes="Kind of change: CREATED, UPDATED or DELETED", example="UPDATED", position=0)
+	private StudentChange.Type type;
+	
+	@ApiModelProperty(notes="Student Enrollment ID after the change, or the one deleted", example="302012345", position=1)
+	private String enrollmentId;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="When the change was made", example="02-08-2020@10:00:00", position=2)
+	private Instant changedAt;
+	
+	@ApiModelProperty(notes="Current student state, absent for deletions", position=3)
+	private Student student;
+	
+	public StudentChangeDTO() { }
+	
+	public StudentChangeDTO(StudentChange.Type type, String enrollmentId, Instant changedAt, Student student) {
+		this.type = type;
+		this.enrollmentId = enrollmentId;
+		this.changedAt = changedAt;
+		this.student = student;
+	}
+
+	public StudentChange.Type getType() {
+		return type;
+	}
+
+	public void setType(StudentChange.Type type) {
+		this.type = type;
+	}
+
+	public String getEnrollmentId() {
+		return enrollmentId;
+	}
+
+	public void setEnrollmentId(String enrollmentId) {
+		this.enrollmentId = enrollmentId;
+	}
+
+	public Instant getChangedAt() {
+		return changedAt;
+	}
+
+	public void setChangedAt(Instant changedAt) {
+		this.changedAt = changedAt;
+	}
+
+	public Student getStudent() {
+		return student;
+	}
+
+	public void setStudent(Student student) {
+		this.student = student;
+	}
+	
+	public static StudentChangeDTO from(StudentChange change) {
+		return new StudentChangeDTO(change.getType(), change.getEnrollmentId(), change.getChangedAt(), change.getStudent());
+	}
+}
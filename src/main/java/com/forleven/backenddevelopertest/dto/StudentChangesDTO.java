@@ -0,0 +1,48 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.forleven.backenddevelopertest.service.StudentChanges;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"changes", "next"})
+@ApiModel(value="StudentChanges")
+public class StudentChangesDTO {
+	@ApiModelProperty(notes="Changes in the order they were made", position=0)
+	private List<StudentChangeDTO> changes = new ArrayList<>();
+	
+	@ApiModelProperty(notes="Cursor to resume from, present even when there are no changes", example="1596286800_0_42_7", position=1)
+	private String next;
+	
+	public StudentChangesDTO() { }
+	
+	public StudentChangesDTO(List<StudentChangeDTO> changes, String next) {
+		this.changes = changes;
+		this.next = next;
+	}
+
+	public List<StudentChangeDTO> getChanges() {
+		return changes;
+	}
+
+	public void setChanges(List<StudentChangeDTO> changes) {
+		this.changes = changes;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+	
+	public static StudentChangesDTO from(StudentChanges changes) {
+		return new StudentChangesDTO(changes.getChanges().stream().map(StudentChangeDTO::from).collect(Collectors.toList()), changes.getNext().toString());
+	}
+}
@@ -1,7 +1,7 @@
 package com.forleven.backenddevelopertest.dto;
 
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -34,7 +34,7 @@ public class StudentDTO extends DomainEntityDTO {
 	@NotBlank(groups={CreateValidate.class, UpdateValidate.class, DeleteValidate.class},
 			  message="The enrollment ID field cannot be empty")
 	@Size(groups={CommonValidate.class, DeleteValidate.class}, 
-	      min=3, message="The enrollment ID field must have a size of at least 3 characters")
+	      min=3, max=128, message="The enrollment ID field must have a size of at least 3 and at most 128 characters")
 	@Pattern(groups={CommonValidate.class, DeleteValidate.class}, 
 	         regexp="^[0-9]+$", message="The enrollment ID field must be composed of numerical digits only")
 	private String enrollmentId;
@@ -43,14 +43,14 @@ public class StudentDTO extends DomainEntityDTO {
 	@NotBlank(groups={CommonValidate.class}, 
 			  message="The first name field cannot be empty")
 	@Size(groups={CommonValidate.class}, 
-		  min=3, message="The first name field must have a size of at least 3 characters")
+		  min=3, max=128, message="The first name field must have a size of at least 3 and at most 128 characters")
 	private String firstName;
 	
 	@ApiModelProperty(notes="Student Last Name", example="Silva", required=true, position=2)
 	@NotBlank(groups={CommonValidate.class},
 			  message="The last name field cannot be empty")
 	@Size(groups={CommonValidate.class}, 
-	      min=3, message="The last name field must have a size of at least 3 characters")
+	      min=3, max=128, message="The last name field must have a size of at least 3 and at most 128 characters")
 	private String lastName;
 	
 	@ApiModelProperty(notes="Student Telephones", required=false, position=3)
@@ -86,14 +86,14 @@ public class StudentDTO extends DomainEntityDTO {
 		this.enrollmentId = enrollmentId;
 	}
 
-	public StudentDTO(String id, String firstName, String lastName, String enrollmentId, Calendar lastModified, Calendar createdAt) {
+	public StudentDTO(String id, String firstName, String lastName, String enrollmentId, Instant lastModified, Instant createdAt) {
 		super(id, lastModified, createdAt);
 		this.firstName = firstName;
 		this.lastName = lastName;
 		this.enrollmentId = enrollmentId;
 	}
 
-	public StudentDTO(String id, String firstName, String lastName, String enrollmentId, List<PhoneDTO> phones, Calendar lastModified, Calendar createdAt) {
+	public StudentDTO(String id, String firstName, String lastName, String enrollmentId, List<PhoneDTO> phones, Instant lastModified, Instant createdAt) {
 		super(id, lastModified, createdAt);
 		this.firstName = firstName;
 		this.lastName = lastName;
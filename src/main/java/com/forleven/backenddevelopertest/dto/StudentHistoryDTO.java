@@ -0,0 +1,124 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"enrollmentId", "firstName", "lastName", "timesUpdated", "lastModified", "createdAt", "historyInsertion", "operation"})
+@ApiModel(value="StudentHistory")
+public class StudentHistoryDTO {
+	@ApiModelProperty(notes="Student Enrollment ID before the change", example="302012345", position=0)
+	private String enrollmentId;
+	
+	@ApiModelProperty(notes="Student First Name before the change", example="João", position=1)
+	private String firstName;
+	
+	@ApiModelProperty(notes="Student Last Name before the change", example="Silva", position=2)
+	private String lastName;
+	
+	@ApiModelProperty(notes="Number of updates the student had before the change", example="0", position=3)
+	private int timesUpdated;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="Last modification before the change", example="01-08-2020@10:00:00", position=4)
+	private Instant lastModified;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="Student registration", example="01-08-2020@10:00:00", position=5)
+	private Instant createdAt;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="When the change was recorded", example="02-08-2020@10:00:00", position=6)
+	private Instant historyInsertion;
+	
+	@ApiModelProperty(notes="Change that replaced this version", example="update", position=7)
+	private String operation;
+	
+	public StudentHistoryDTO() { }
+	
+	public StudentHistoryDTO(String enrollmentId, String firstName, String lastName, int timesUpdated, Instant lastModified, Instant createdAt,
+			                 Instant historyInsertion, String operation) {
+		this.enrollmentId = enrollmentId;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.timesUpdated = timesUpdated;
+		this.lastModified = lastModified;
+		this.createdAt = createdAt;
+		this.historyInsertion = historyInsertion;
+		this.operation = operation;
+	}
+
+	public String getEnrollmentId() {
+		return enrollmentId;
+	}
+
+	public void setEnrollmentId(String enrollmentId) {
+		this.enrollmentId = enrollmentId;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	public int getTimesUpdated() {
+		return timesUpdated;
+	}
+
+	public void setTimesUpdated(int timesUpdated) {
+		this.timesUpdated = timesUpdated;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(Instant lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getHistoryInsertion() {
+		return historyInsertion;
+	}
+
+	public void setHistoryInsertion(Instant historyInsertion) {
+		this.historyInsertion = historyInsertion;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public void setOperation(String operation) {
+		this.operation = operation;
+	}
+	
+	public static StudentHistoryDTO from(StudentHistory history) {
+		return new StudentHistoryDTO(history.getEnrollmentId(), history.getFirstName(), history.getLastName(), history.getTimesUpdated(),
+				history.getLastModified(), history.getCreatedAt(), history.getHistoryInsertion(), history.getOperation());
+	}
+}
@@ -0,0 +1,208 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.forleven.backenddevelopertest.importer.StudentImportJob;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+@JsonPropertyOrder({"id", "status", "message", "totalBytes", "bytesRead", "progress", "rowsRead", "created", "alreadyExists", "invalid", "rowsPerSecond", "submittedAt", "startedAt", "finishedAt", "errors"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiModel(value="StudentImportJob")
+public class StudentImportJobDTO {
+	@ApiModelProperty(notes="Import job identifier", example="3f0c2a4e-8d1b-4c55-9f1e-2b7f6a1d9c10", position=0)
+	private String id;
+	
+	@ApiModelProperty(notes="QUEUED, RUNNING, COMPLETED or FAILED", example="RUNNING", position=1)
+	private StudentImportJob.Status status;
+	
+	@ApiModelProperty(notes="Why the import stopped, for failed jobs", position=2)
+	private String message;
+	
+	@ApiModelProperty(notes="Size of the uploaded file in bytes", example="52428800", position=3)
+	private long totalBytes;
+	
+	@ApiModelProperty(notes="Bytes of the file read so far", example="26214400", position=4)
+	private long bytesRead;
+	
+	@ApiModelProperty(notes="Percentage of the file read so far", example="50.0", position=5)
+	private double progress;
+	
+	@ApiModelProperty(notes="Rows read so far, not counting the header", example="250000", position=6)
+	private long rowsRead;
+	
+	@ApiModelProperty(notes="Students registered", example="249000", position=7)
+	private long created;
+	
+	@ApiModelProperty(notes="Rows whose enrollment ID was already registered", example="600", position=8)
+	private long alreadyExists;
+	
+	@ApiModelProperty(notes="Rows that failed validation", example="400", position=9)
+	private long invalid;
+	
+	@ApiModelProperty(notes="Rows read per second since the job started", example="12500.0", position=10)
+	private double rowsPerSecond;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="When the file was received", example="01-08-2020@10:00:00", position=11)
+	private Instant submittedAt;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="When the import started", example="01-08-2020@10:00:01", position=12)
+	private Instant startedAt;
+	
+	@JsonFormat(shape=JsonFormat.Shape.STRING, pattern="dd-MM-yyyy@HH:mm:ss", timezone="America/Sao_Paulo")
+	@ApiModelProperty(notes="When the import finished", example="01-08-2020@10:00:21", position=13)
+	private Instant finishedAt;
+	
+	@ApiModelProperty(notes="First rows that were not registered, by position in the file", position=14)
+	private List<BatchItemResultDTO> errors = new ArrayList<>();
+	
+	public StudentImportJobDTO() { }
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public StudentImportJob.Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(StudentImportJob.Status status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public void setTotalBytes(long totalBytes) {
+		this.totalBytes = totalBytes;
+	}
+
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	public void setBytesRead(long bytesRead) {
+		this.bytesRead = bytesRead;
+	}
+
+	public double getProgress() {
+		return progress;
+	}
+
+	public void setProgress(double progress) {
+		this.progress = progress;
+	}
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	public void setRowsRead(long rowsRead) {
+		this.rowsRead = rowsRead;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public void setCreated(long created) {
+		this.created = created;
+	}
+
+	public long getAlreadyExists() {
+		return alreadyExists;
+	}
+
+	public void setAlreadyExists(long alreadyExists) {
+		this.alreadyExists = alreadyExists;
+	}
+
+	public long getInvalid() {
+		return invalid;
+	}
+
+	public void setInvalid(long invalid) {
+		this.invalid = invalid;
+	}
+
+	public double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public void setRowsPerSecond(double rowsPerSecond) {
+		this.rowsPerSecond = rowsPerSecond;
+	}
+
+	public Instant getSubmittedAt() {
+		return submittedAt;
+	}
+
+	public void setSubmittedAt(Instant submittedAt) {
+		this.submittedAt = submittedAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public List<BatchItemResultDTO> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<BatchItemResultDTO> errors) {
+		this.errors = errors;
+	}
+	
+	public static StudentImportJobDTO from(StudentImportJob job) {
+		StudentImportJobDTO dto = new StudentImportJobDTO();
+		dto.setId(job.getId());
+		dto.setStatus(job.getStatus());
+		dto.setMessage(job.getMessage());
+		dto.setTotalBytes(job.getTotalBytes());
+		dto.setBytesRead(job.getBytesRead());
+		dto.setProgress(job.getProgress());
+		dto.setRowsRead(job.getRowsRead());
+		dto.setCreated(job.getCreated());
+		dto.setAlreadyExists(job.getAlreadyExists());
+		dto.setInvalid(job.getInvalid());
+		dto.setRowsPerSecond(job.getRowsPerSecond());
+		dto.setSubmittedAt(job.getSubmittedAt());
+		dto.setStartedAt(job.getStartedAt());
+		dto.setFinishedAt(job.getFinishedAt());
+		dto.setErrors(job.getErrors());
+		return dto;
+	}
+}
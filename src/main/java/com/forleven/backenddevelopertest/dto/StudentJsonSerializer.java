@@ -0,0 +1,84 @@
+package com.forleven.backenddevelopertest.dto;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+
+@JsonComponent
+public class StudentJsonSerializer extends StdSerializer<Student> {
+	private static final long serialVersionUID = 1L;
+
+	private static final SerializedString ENROLLMENT_ID = new SerializedString("enrollmentId");
+	private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+	private static final SerializedString LAST_NAME = new SerializedString("lastName");
+	private static final SerializedString PHONES = new SerializedString("phones");
+	private static final SerializedString PHONE_NUMBER = new SerializedString("phoneNumber");
+	private static final SerializedString PHONE_TYPE = new SerializedString("phoneType");
+
+	private static final Comparator<Phone> BY_ID = Comparator.comparingInt(Phone::getId);
+
+	public StudentJsonSerializer() {
+		super(Student.class);
+	}
+
+	@Override
+	public void serialize(Student student, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		gen.writeStartObject(student);
+		gen.writeFieldName(ENROLLMENT_ID);
+		gen.writeString(student.getEnrollmentId());
+		gen.writeFieldName(FIRST_NAME);
+		gen.writeString(student.getFirstName());
+		gen.writeFieldName(LAST_NAME);
+		gen.writeString(student.getLastName());
+		gen.writeFieldName(PHONES);
+		writePhones(student.getPhones(), gen);
+		gen.writeEndObject();
+	}
+
+	private static void writePhones(List<Phone> phones, JsonGenerator gen) throws IOException {
+		int size = phones == null ? 0 : phones.size();
+		gen.writeStartArray(size);
+		if (size > 0) {
+			if (isSorted(phones)) {
+				for (int i = 0; i < size; i++) {
+					writePhone(phones.get(i), gen);
+				}
+			} else {
+				Phone[] sorted = phones.toArray(new Phone[size]);
+				Arrays.sort(sorted, BY_ID);
+				for (Phone phone : sorted) {
+					writePhone(phone, gen);
+				}
+			}
+		}
+		gen.writeEndArray();
+	}
+
+	private static boolean isSorted(List<Phone> phones) {
+		for (int i = 1; i < phones.size(); i++) {
+			if (phones.get(i - 1).getId() > phones.get(i).getId()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void writePhone(Phone phone, JsonGenerator gen) throws IOException {
+		gen.writeStartObject(phone);
+		gen.writeFieldName(PHONE_NUMBER);
+		gen.writeString(phone.getPhoneNumber());
+		gen.writeFieldName(PHONE_TYPE);
+		gen.writeString(phone.getPhoneType());
+		gen.writeEndObject();
+	}
+}
@@ -0,0 +1,52 @@
+package com.forleven.backenddevelopertest.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+import com.google.common.base.CaseFormat;
+
+@Component
+public class ExistsErrorBodies {
+	private final Map<ExistsContext, byte[]> prefixes = new EnumMap<>(ExistsContext.class);
+	
+	private final Map<ExistsContext, byte[]> suffixes = new EnumMap<>(ExistsContext.class);
+	
+	@Autowired
+	public ExistsErrorBodies(@Qualifier("studentServiceProperties") ServiceProperties props) {
+		for (ExistsContext ctx : ExistsContext.values()) {
+			prefixes.put(ctx, ("{\"" + quote(CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, ctx.label)) + "\":{\""
+					+ quote(props.entityName()) + "\":[\"" + quote(props.msgEnrollmentId() + " ")).getBytes(StandardCharsets.UTF_8));
+			suffixes.put(ctx, (quote(" " + ctx.message) + "\"]}}").getBytes(StandardCharsets.UTF_8));
+		}
+	}
+	
+	public ResponseEntity<byte[]> of(ServiceResult<?> result) {
+		return of(result.getFailure(), result.getEnrollmentId());
+	}
+	
+	public ResponseEntity<byte[]> of(ExistsContext ctx, String enrollmentId) {
+		byte[] prefix = prefixes.get(ctx);
+		byte[] value = quote(enrollmentId).getBytes(StandardCharsets.UTF_8);
+		byte[] suffix = suffixes.get(ctx);
+		byte[] body = new byte[prefix.length + value.length + suffix.length];
+		System.arraycopy(prefix, 0, body, 0, prefix.length);
+		System.arraycopy(value, 0, body, prefix.length, value.length);
+		System.arraycopy(suffix, 0, body, prefix.length + value.length, suffix.length);
+		return ResponseEntity.status(ctx.httpStatus).contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+	
+	private static String quote(String value) {
+		return new String(JsonStringEncoder.getInstance().quoteAsString(String.valueOf(value)));
+	}
+}
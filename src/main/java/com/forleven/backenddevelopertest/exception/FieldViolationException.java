@@ -0,0 +1,19 @@
+package com.forleven.backenddevelopertest.exception;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+public class FieldViolationException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+	
+	private final Map<String, TreeSet<String>> violations;
+	
+	public FieldViolationException(Map<String, TreeSet<String>> violations) {
+		super(null, null, false, false);
+		this.violations = violations;
+	}
+	
+	public Map<String, TreeSet<String>> getViolations() {
+		return violations;
+	}
+}
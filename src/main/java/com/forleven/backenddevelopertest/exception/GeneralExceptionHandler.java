@@ -8,14 +8,19 @@ import java.util.TreeSet;
 
 import javax.validation.ConstraintViolationException;
 
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.ClassUtils;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.forleven.backenddevelopertest.util.ExistsContext;
@@ -23,6 +28,7 @@ import com.google.common.base.CaseFormat;
 
 @ControllerAdvice
 public class GeneralExceptionHandler {
+	private static final String RETRY_IMPORT_AFTER_SECONDS = "30";
 
 	@ExceptionHandler({ConstraintViolationException.class})
 	public ResponseEntity<Map<String, TreeSet<String>>> handleValidationException(ConstraintViolationException exc) {
@@ -53,6 +59,11 @@ public class GeneralExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
 	}
 	
+	@ExceptionHandler({FieldViolationException.class})
+	public ResponseEntity<Map<String, TreeSet<String>>> handleValidationException(FieldViolationException exc) {
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exc.getViolations());
+	}
+	
 	@ExceptionHandler({HttpMessageNotReadableException.class, HttpRequestMethodNotSupportedException.class})
 	public ResponseEntity<String> handleInvalidRequestException(Exception exc) {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid Request");
@@ -84,9 +95,34 @@ public class GeneralExceptionHandler {
 		if (exc.getViolatedRequirements().containsKey(ExistsContext.ALREADY_EXISTS.label)) {
 			return ResponseEntity.status(ExistsContext.ALREADY_EXISTS.httpStatus).body(errors);
 		}
+		if (exc.getViolatedRequirements().containsKey(ExistsContext.PRECONDITION_FAILED.label)) {
+			return ResponseEntity.status(ExistsContext.PRECONDITION_FAILED.httpStatus).body(errors);
+		}
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
 	}
 	
+	@ExceptionHandler({ObjectOptimisticLockingFailureException.class})
+	public ResponseEntity<Map<String, TreeMap<String, List<String>>>> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException exc) {
+		String entity = exc.getPersistentClassName() != null ? StringUtils.uncapitalize(ClassUtils.getShortName(exc.getPersistentClassName())) : "entity";
+		return handleBusinessRuleViolationException(new RequirementViolationException(ExistsContext.PRECONDITION_FAILED.label, entity, "The " + entity + " was modified by a concurrent request"));
+	}
+	
+	@ExceptionHandler({ImportRejectedException.class})
+	public ResponseEntity<ErrorResponse> handleImportRejectedException(ImportRejectedException exc) {
+		ErrorResponse error = new ErrorResponse(exc.getStatus().value(), exc.getMessage(), System.currentTimeMillis());
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(exc.getStatus());
+		if (exc.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+			response.header(HttpHeaders.RETRY_AFTER, RETRY_IMPORT_AFTER_SECONDS);
+		}
+		return response.body(error);
+	}
+	
+	@ExceptionHandler({MaxUploadSizeExceededException.class})
+	public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException exc) {
+		ErrorResponse error = new ErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE.value(), exc.getMessage(), System.currentTimeMillis());
+		return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+	}
+	
 	@ExceptionHandler
 	public ResponseEntity<ErrorResponse> handleException(Exception exc) {
 		ErrorResponse error = new ErrorResponse();
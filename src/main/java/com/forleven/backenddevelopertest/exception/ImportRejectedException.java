@@ -0,0 +1,18 @@
+package com.forleven.backenddevelopertest.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ImportRejectedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private final HttpStatus status;
+
+	public ImportRejectedException(HttpStatus status, String message) {
+		super(message, null, false, false);
+		this.status = status;
+	}
+
+	public HttpStatus getStatus() {
+		return status;
+	}
+}
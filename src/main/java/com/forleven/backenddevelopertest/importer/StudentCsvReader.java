@@ -0,0 +1,88 @@
+package com.forleven.backenddevelopertest.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.StringUtils;
+
+import com.forleven.backenddevelopertest.dto.PhoneDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+
+/**
+ * Reads students one row at a time from a CSV file with a header naming the enrollmentId,
+ * firstName and lastName columns, in any order and case. The optional phones column lists
+ * number:type pairs separated by semicolons, e.g. 91234-5678:Mobile;1234-5678:Home.
+ */
+public class StudentCsvReader implements Closeable {
+	public static final String ENROLLMENT_ID = "enrollmentId";
+	public static final String FIRST_NAME = "firstName";
+	public static final String LAST_NAME = "lastName";
+	public static final String PHONES = "phones";
+
+	private static final String PHONE_SEPARATOR = ";";
+	private static final String PHONE_TYPE_SEPARATOR = ":";
+
+	private final CSVParser parser;
+
+	private final Iterator<CSVRecord> records;
+
+	private final Map<String, String> columns = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+	public StudentCsvReader(Reader reader) throws IOException {
+		this.parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withIgnoreEmptyLines().withTrim().parse(reader);
+		parser.getHeaderNames().forEach(header -> columns.put(header, header));
+		List<String> missing = new ArrayList<>();
+		for (String column : new String[] {ENROLLMENT_ID, FIRST_NAME, LAST_NAME}) {
+			if (!columns.containsKey(column)) {
+				missing.add(column);
+			}
+		}
+		if (!missing.isEmpty()) {
+			parser.close();
+			throw new IllegalArgumentException("The CSV header is missing the columns " + String.join(", ", missing));
+		}
+		this.records = parser.iterator();
+	}
+
+	public boolean hasNext() {
+		return records.hasNext();
+	}
+
+	public StudentDTO next() {
+		CSVRecord record = records.next();
+		StudentDTO student = new StudentDTO(value(record, FIRST_NAME), value(record, LAST_NAME), value(record, ENROLLMENT_ID));
+		String phones = value(record, PHONES);
+		if (StringUtils.isNotBlank(phones)) {
+			for (String phone : phones.split(PHONE_SEPARATOR)) {
+				if (StringUtils.isNotBlank(phone)) {
+					String number = StringUtils.substringBefore(phone, PHONE_TYPE_SEPARATOR).trim();
+					String type = phone.contains(PHONE_TYPE_SEPARATOR) ? StringUtils.substringAfter(phone, PHONE_TYPE_SEPARATOR).trim() : null;
+					student.addPhone(new PhoneDTO(number, type));
+				}
+			}
+		}
+		return student;
+	}
+
+	private String value(CSVRecord record, String column) {
+		String header = columns.get(column);
+		if (header == null || !record.isSet(header)) {
+			return null;
+		}
+		return StringUtils.defaultIfEmpty(record.get(header), null);
+	}
+
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+}
@@ -0,0 +1,169 @@
+package com.forleven.backenddevelopertest.importer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.forleven.backenddevelopertest.dto.BatchItemResultDTO;
+
+public class StudentImportJob {
+	public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+	private final String id;
+
+	private final long totalBytes;
+
+	private final int maxReportedErrors;
+
+	private final Instant submittedAt = Instant.now();
+
+	private final AtomicLong bytesRead = new AtomicLong();
+
+	private final AtomicLong rowsRead = new AtomicLong();
+
+	private final AtomicLong created = new AtomicLong();
+
+	private final AtomicLong alreadyExists = new AtomicLong();
+
+	private final AtomicLong invalid = new AtomicLong();
+
+	// Only the first rows that failed are kept, so a file full of bad rows cannot exhaust the memory
+	private final List<BatchItemResultDTO> errors = new ArrayList<>();
+
+	private final CountDownLatch finished = new CountDownLatch(1);
+
+	private volatile Status status = Status.QUEUED;
+
+	private volatile String message;
+
+	private volatile Instant startedAt;
+
+	private volatile Instant finishedAt;
+
+	public StudentImportJob(String id, long totalBytes, int maxReportedErrors) {
+		this.id = id;
+		this.totalBytes = totalBytes;
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	void start() {
+		startedAt = Instant.now();
+		status = Status.RUNNING;
+	}
+
+	void complete() {
+		bytesRead.set(totalBytes);
+		finish(Status.COMPLETED, null);
+	}
+
+	void fail(String message) {
+		finish(Status.FAILED, message);
+	}
+
+	private void finish(Status status, String message) {
+		this.message = message;
+		this.finishedAt = Instant.now();
+		this.status = status;
+		finished.countDown();
+	}
+
+	void progress(long bytesRead, long rowsRead) {
+		this.bytesRead.set(Math.min(bytesRead, totalBytes));
+		this.rowsRead.set(rowsRead);
+	}
+
+	void created(int count) {
+		created.addAndGet(count);
+	}
+
+	void alreadyExists(int row, String enrollmentId) {
+		alreadyExists.incrementAndGet();
+		report(BatchItemResultDTO.alreadyExists(row, enrollmentId));
+	}
+
+	void invalid(BatchItemResultDTO error) {
+		invalid.incrementAndGet();
+		report(error);
+	}
+
+	private synchronized void report(BatchItemResultDTO error) {
+		if (errors.size() < maxReportedErrors) {
+			errors.add(error);
+		}
+	}
+
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public long getBytesRead() {
+		return bytesRead.get();
+	}
+
+	public double getProgress() {
+		return totalBytes == 0 ? (status == Status.COMPLETED ? 100.0 : 0.0) : 100.0 * bytesRead.get() / totalBytes;
+	}
+
+	public long getRowsRead() {
+		return rowsRead.get();
+	}
+
+	public long getCreated() {
+		return created.get();
+	}
+
+	public long getAlreadyExists() {
+		return alreadyExists.get();
+	}
+
+	public long getInvalid() {
+		return invalid.get();
+	}
+
+	public double getRowsPerSecond() {
+		Instant started = startedAt;
+		if (started == null) {
+			return 0.0;
+		}
+		Instant ended = finishedAt;
+		Instant end = ended == null ? Instant.now() : ended;
+		long millis = Duration.between(started, end).toMillis();
+		return millis == 0 ? 0.0 : rowsRead.get() * 1000.0 / millis;
+	}
+
+	public synchronized List<BatchItemResultDTO> getErrors() {
+		return new ArrayList<>(errors);
+	}
+
+	public Instant getSubmittedAt() {
+		return submittedAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+}
@@ -0,0 +1,210 @@
+package com.forleven.backenddevelopertest.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.BatchItemResultDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.exception.ImportRejectedException;
+import com.forleven.backenddevelopertest.service.IStudentService;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+import com.forleven.backenddevelopertest.validation.CreateValidate;
+import com.forleven.backenddevelopertest.validation.StudentDTOValidator;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Uploads are spooled to a temporary file and imported in the background, one chunk of rows
+ * per transaction, so neither the request nor the import holds more than a chunk in memory.
+ * Files over {@code importMaxFileBytes} and uploads arriving while {@code importQueueCapacity}
+ * jobs are already waiting are rejected instead of filling the disk or the queue.
+ */
+@Service
+public class StudentImportService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(StudentImportService.class);
+
+	private static final String STUDENT = "student";
+
+	private IStudentService studentService;
+
+	private ServiceProperties props;
+
+	// Queued and running jobs are kept until they finish, and only then start their retention
+	private final Map<String, StudentImportJob> activeJobs = new ConcurrentHashMap<>();
+
+	private final Cache<String, StudentImportJob> finishedJobs;
+
+	private final ThreadPoolExecutor executor;
+
+	@Autowired
+	public StudentImportService(IStudentService studentService, @Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.studentService = studentService;
+		this.props = props;
+		this.finishedJobs = CacheBuilder.newBuilder()
+				.expireAfterWrite(props.importJobRetentionSeconds(), TimeUnit.SECONDS)
+				.build();
+		int threads = Math.max(1, props.importConcurrentJobs());
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, props.importQueueCapacity())),
+				new ThreadFactoryBuilder().setNameFormat("student-import-%d").setDaemon(true).build());
+	}
+
+	public StudentImportJob start(InputStream csv) throws IOException {
+		// Saves spooling a file that the full queue would reject anyway
+		if (executor.getQueue().remainingCapacity() == 0) {
+			throw busy();
+		}
+		long maxFileBytes = props.importMaxFileBytes();
+		Path file = Files.createTempFile("student-import-", ".csv");
+		try {
+			Files.copy(ByteStreams.limit(csv, maxFileBytes + 1), file, StandardCopyOption.REPLACE_EXISTING);
+			if (Files.size(file) > maxFileBytes) {
+				throw new ImportRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "The CSV file exceeds " + maxFileBytes + " bytes");
+			}
+			StudentImportJob job = new StudentImportJob(UUID.randomUUID().toString(), Files.size(file), props.importMaxReportedErrors());
+			activeJobs.put(job.getId(), job);
+			try {
+				executor.execute(() -> run(job, file));
+			} catch (RejectedExecutionException e) {
+				activeJobs.remove(job.getId());
+				throw busy();
+			}
+			return job;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+	}
+
+	public Optional<StudentImportJob> find(String id) {
+		StudentImportJob job = activeJobs.get(id);
+		return Optional.ofNullable(job != null ? job : finishedJobs.getIfPresent(id));
+	}
+
+	private static ImportRejectedException busy() {
+		return new ImportRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Too many student imports are waiting, try again later");
+	}
+
+	private void run(StudentImportJob job, Path file) {
+		job.start();
+		int row = 0;
+		try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file));
+			 StudentCsvReader reader = new StudentCsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			List<StudentDTO> chunk = new ArrayList<>();
+			List<Integer> rows = new ArrayList<>();
+			while (reader.hasNext()) {
+				StudentDTO dto = reader.next();
+				Map<String, TreeSet<String>> errors = StudentDTOValidator.validate(dto, CreateValidate.class);
+				if (errors.isEmpty()) {
+					chunk.add(dto);
+					rows.add(row);
+				} else {
+					job.invalid(BatchItemResultDTO.invalid(row, dto.getEnrollmentId(), errors));
+				}
+				row++;
+				if (chunk.size() == props.importChunkSize()) {
+					save(job, chunk, rows);
+				}
+				job.progress(in.getCount(), row);
+			}
+			save(job, chunk, rows);
+			job.complete();
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Student import {} stopped at row {}", job.getId(), row, e);
+			// Chunks committed before the failure are kept
+			job.fail("Import stopped at row " + row + ": " + e.getMessage());
+		} finally {
+			// Cached before it leaves the active jobs, so find never misses it in between
+			finishedJobs.put(job.getId(), job);
+			activeJobs.remove(job.getId());
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				LOGGER.warn("Could not delete the student import file {}", file, e);
+			}
+		}
+	}
+
+	private void save(StudentImportJob job, List<StudentDTO> chunk, List<Integer> rows) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		List<Student> students = chunk.stream().map(StudentDTO::toStudent).collect(Collectors.toList());
+		Set<Student> saved = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<Student> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+		try {
+			saved.addAll(studentService.saveAll(students));
+		} catch (DataIntegrityViolationException e) {
+			// An enrollment ID was registered by another request after the chunk was checked, or a row breaks
+			// another constraint, so the rows are saved one by one and only the offending ones are rejected
+			students = chunk.stream().map(StudentDTO::toStudent).collect(Collectors.toList());
+			for (int i = 0; i < students.size(); i++) {
+				Student student = students.get(i);
+				try {
+					ServiceResult<Student> result = studentService.trySave(student);
+					if (result.isSuccess()) {
+						saved.add(student);
+					}
+				} catch (DataIntegrityViolationException rowException) {
+					rejected.add(student);
+					job.invalid(BatchItemResultDTO.invalid(rows.get(i), student.getEnrollmentId(), constraintViolation()));
+				}
+			}
+		}
+		job.created(saved.size());
+		for (int i = 0; i < students.size(); i++) {
+			if (!saved.contains(students.get(i)) && !rejected.contains(students.get(i))) {
+				job.alreadyExists(rows.get(i), students.get(i).getEnrollmentId());
+			}
+		}
+		chunk.clear();
+		rows.clear();
+	}
+
+	private static Map<String, TreeSet<String>> constraintViolation() {
+		Map<String, TreeSet<String>> errors = new TreeMap<>();
+		errors.put(STUDENT, new TreeSet<>(Collections.singleton("The student violates a database constraint")));
+		return errors;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,55 @@
+package com.forleven.backenddevelopertest.metrics;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the statements counted on the request thread. Async handlers, such as the change feed
+ * long poll and the reactive endpoints, run their statements on other threads, so they are left
+ * out of the metric instead of being recorded as 0.
+ */
+public class StatementCountInterceptor implements AsyncHandlerInterceptor {
+	private static final String ASYNC_STARTED = StatementCountInterceptor.class.getName() + ".ASYNC_STARTED";
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public StatementCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getDispatcherType() != DispatcherType.ASYNC) {
+			StatementCountInspector.reset();
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		request.setAttribute(ASYNC_STARTED, Boolean.TRUE);
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		if (registry == null || request.getDispatcherType() == DispatcherType.ASYNC || request.getAttribute(ASYNC_STARTED) != null) {
+			return;
+		}
+		Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		DistributionSummary.builder("student.http.statements")
+				.description("SQL statements prepared per synchronous request")
+				.tag("method", request.getMethod())
+				.tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+				.register(registry)
+				.record(StatementCountInspector.count());
+	}
+}
@@ -0,0 +1,67 @@
+package com.forleven.backenddevelopertest.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Aspect
+@Component
+public class StudentServiceMetricsAspect {
+	public static final String OUTCOME_SUCCESS = "SUCCESS";
+	public static final String OUTCOME_INVALID = "INVALID";
+	public static final String OUTCOME_ERROR = "ERROR";
+
+	private final MeterRegistry meterRegistry;
+
+	@Autowired
+	public StudentServiceMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(* com.forleven.backenddevelopertest.service.IStudentService.*(..))")
+	public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+		String method = joinPoint.getSignature().getName();
+		String outcome = OUTCOME_SUCCESS;
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			Object result = joinPoint.proceed();
+			if (result instanceof ServiceResult && !((ServiceResult<?>) result).isSuccess()) {
+				outcome = ((ServiceResult<?>) result).getFailure().label;
+			}
+			return result;
+		} catch (RequirementViolationException exc) {
+			outcome = outcomeOf(exc);
+			throw exc;
+		} catch (OptimisticLockingFailureException exc) {
+			outcome = ExistsContext.PRECONDITION_FAILED.label;
+			throw exc;
+		} catch (Throwable exc) {
+			outcome = OUTCOME_ERROR;
+			throw exc;
+		} finally {
+			sample.stop(meterRegistry.timer("student.service", "method", method, "outcome", outcome));
+			if (!OUTCOME_SUCCESS.equals(outcome)) {
+				meterRegistry.counter("student.service.errors", "method", method, "outcome", outcome).increment();
+			}
+		}
+	}
+
+	public static String outcomeOf(RequirementViolationException exc) {
+		for (ExistsContext ctx : ExistsContext.values()) {
+			if (exc.isRequirementViolated(ctx.label)) {
+				return ctx.label;
+			}
+		}
+		return OUTCOME_INVALID;
+	}
+}
@@ -0,0 +1,82 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Position in the change feed: the last student upsert returned, ordered by last modification
+ * and id, and the last deletion returned, ordered by its student history id.
+ */
+public final class ChangeCursor {
+	public static final ChangeCursor START = new ChangeCursor(Instant.EPOCH, 0, 0);
+	
+	private static final String SEPARATOR = "_";
+	
+	private final Instant lastModified;
+	
+	private final int studentId;
+	
+	private final int deletionId;
+	
+	public ChangeCursor(Instant lastModified, int studentId, int deletionId) {
+		this.lastModified = lastModified;
+		this.studentId = studentId;
+		this.deletionId = deletionId;
+	}
+	
+	public static ChangeCursor parse(String token) {
+		String[] parts = token.split(SEPARATOR, -1);
+		if (parts.length != 4) {
+			throw new IllegalArgumentException("Invalid change cursor: " + token);
+		}
+		try {
+			Instant lastModified = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+			return new ChangeCursor(lastModified, Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid change cursor: " + token, e);
+		}
+	}
+	
+	public ChangeCursor afterUpsert(Instant lastModified, int studentId) {
+		return new ChangeCursor(lastModified, studentId, deletionId);
+	}
+	
+	public ChangeCursor afterDeletion(int deletionId) {
+		return new ChangeCursor(lastModified, studentId, deletionId);
+	}
+	
+	public Instant getLastModified() {
+		return lastModified;
+	}
+	
+	public int getStudentId() {
+		return studentId;
+	}
+	
+	public int getDeletionId() {
+		return deletionId;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ChangeCursor)) {
+			return false;
+		}
+		ChangeCursor other = (ChangeCursor) obj;
+		return lastModified.equals(other.lastModified) && studentId == other.studentId && deletionId == other.deletionId;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(lastModified, studentId, deletionId);
+	}
+	
+	@Override
+	public String toString() {
+		return String.join(SEPARATOR, String.valueOf(lastModified.getEpochSecond()), String.valueOf(lastModified.getNano()),
+				String.valueOf(studentId), String.valueOf(deletionId));
+	}
+}
@@ -0,0 +1,12 @@
+package com.forleven.backenddevelopertest.service;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveStudentService {
+	Flux<Student> findAll();
+	
+	Mono<Student> find(String enrollmentId);
+}
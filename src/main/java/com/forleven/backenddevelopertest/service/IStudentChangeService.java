@@ -0,0 +1,11 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface IStudentChangeService {
+	StudentChanges findChanges(ChangeCursor since, int limit);
+	
+	CompletableFuture<StudentChanges> awaitChanges(ChangeCursor since, int limit, long waitMillis);
+	
+	void changed();
+}
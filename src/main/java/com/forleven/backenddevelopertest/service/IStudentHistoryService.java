@@ -0,0 +1,14 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Slice;
+
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+
+public interface IStudentHistoryService {
+	ServiceResult<Student> tryFindAsOf(String enrollmentId, Instant asOf);
+	
+	ServiceResult<Slice<StudentHistory>> tryFindHistory(String enrollmentId, int page, int size);
+}
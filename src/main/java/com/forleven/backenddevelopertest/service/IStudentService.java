@@ -1,6 +1,9 @@
 package com.forleven.backenddevelopertest.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Slice;
 
 import com.forleven.backenddevelopertest.domain.Student;
 import com.forleven.backenddevelopertest.exception.RequirementViolationException;
@@ -8,15 +11,44 @@ import com.forleven.backenddevelopertest.exception.RequirementViolationException
 public interface IStudentService {
 	List<Student> findAll();
 	
+	Slice<Student> findAll(int after, int limit);
+	
+	Slice<Student> search(String firstName, String lastName, boolean prefix, NameCursor after, int size);
+	
+	void forEach(Consumer<Student> action);
+	
+	// ETags of the findAll results, computed without loading students or phones
+	String findAllTag();
+	
+	String findPageTag(int after, int limit);
+	
 	Student find(String enrollmentId) throws RequirementViolationException;
 	
+	ServiceResult<Student> tryFind(String enrollmentId);
+	
+	ServiceResult<String> tryFindTag(String enrollmentId);
+	
 	Student save(Student student) throws RequirementViolationException;
 	
+	// Inserts first only when it runs in its own transaction; joining a caller's transaction it checks first
+	ServiceResult<Student> trySave(Student student);
+	
+	List<Student> saveAll(List<Student> students);
+	
 	Student update(Student student) throws RequirementViolationException;
 	
 	Student update(Student student, String enrollmentId) throws RequirementViolationException;
 	
-	boolean delete(Student student) throws RequirementViolationException;
+	Student update(Student student, String enrollmentId, String ifMatch) throws RequirementViolationException;
+	
+	ServiceResult<Student> tryUpdate(Student student, String enrollmentId, String ifMatch);
+	
+	// The delete methods return the number of student and phone rows removed
+	int delete(Student student) throws RequirementViolationException;
+	
+	int delete(String enrollmentId) throws RequirementViolationException;
+	
+	int delete(String enrollmentId, String ifMatch) throws RequirementViolationException;
 	
-	boolean delete(String enrollmentId) throws RequirementViolationException;
+	ServiceResult<Integer> tryDelete(String enrollmentId, String ifMatch);
 }
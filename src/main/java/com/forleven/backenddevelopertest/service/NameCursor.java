@@ -0,0 +1,79 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+/**
+ * Position in a name search: the last student returned, ordered by last name, first name and id.
+ * The names travel in the token, so the next page can seek past them on the name index
+ * instead of skipping every earlier row.
+ */
+public final class NameCursor {
+	private static final String SEPARATOR = "\u0000";
+	
+	private final String lastName;
+	
+	private final String firstName;
+	
+	private final int id;
+	
+	public NameCursor(String lastName, String firstName, int id) {
+		this.lastName = lastName;
+		this.firstName = firstName;
+		this.id = id;
+	}
+	
+	public static NameCursor of(Student student) {
+		return new NameCursor(student.getLastName(), student.getFirstName(), student.getId());
+	}
+	
+	public static NameCursor parse(String token) {
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+			if (parts.length != 3) {
+				throw new IllegalArgumentException("Invalid name cursor: " + token);
+			}
+			return new NameCursor(parts[0], parts[1], Integer.parseInt(parts[2]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid name cursor: " + token, e);
+		}
+	}
+	
+	public String getLastName() {
+		return lastName;
+	}
+	
+	public String getFirstName() {
+		return firstName;
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof NameCursor)) {
+			return false;
+		}
+		NameCursor other = (NameCursor) obj;
+		return lastName.equals(other.lastName) && firstName.equals(other.firstName) && id == other.id;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(lastName, firstName, id);
+	}
+	
+	@Override
+	public String toString() {
+		String value = String.join(SEPARATOR, lastName, firstName, String.valueOf(id));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
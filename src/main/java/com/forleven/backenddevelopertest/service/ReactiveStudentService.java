@@ -0,0 +1,38 @@
+package com.forleven.backenddevelopertest.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.forleven.backenddevelopertest.dao.ReactiveStudentRepository;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveStudentService implements IReactiveStudentService {
+	private ReactiveStudentRepository studentRepository;
+	
+	private ServiceProperties props;
+	
+	@Autowired
+	public ReactiveStudentService(ReactiveStudentRepository studentRepository, @Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.studentRepository = studentRepository;
+		this.props = props;
+	}
+	
+	@Override
+	public Flux<Student> findAll() {
+		return studentRepository.findAll();
+	}
+	
+	@Override
+	public Mono<Student> find(String enrollmentId) {
+		return studentRepository.findByEnrollmentId(enrollmentId)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new RequirementViolationException(ExistsContext.NOT_FOUND.label, props.entityName(), props.msgEnrollmentId() + " " + enrollmentId + " " + ExistsContext.NOT_FOUND.message))));
+	}
+}
@@ -0,0 +1,46 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.util.NoSuchElementException;
+
+import com.forleven.backenddevelopertest.util.ExistsContext;
+
+public final class ServiceResult<T> {
+	private final T value;
+	
+	private final ExistsContext failure;
+	
+	private final String enrollmentId;
+	
+	private ServiceResult(T value, ExistsContext failure, String enrollmentId) {
+		this.value = value;
+		this.failure = failure;
+		this.enrollmentId = enrollmentId;
+	}
+	
+	public static <T> ServiceResult<T> of(T value) {
+		return new ServiceResult<>(value, null, null);
+	}
+	
+	public static <T> ServiceResult<T> failure(ExistsContext failure, String enrollmentId) {
+		return new ServiceResult<>(null, failure, enrollmentId);
+	}
+	
+	public boolean isSuccess() {
+		return failure == null;
+	}
+	
+	public T get() {
+		if (failure != null) {
+			throw new NoSuchElementException(failure.label);
+		}
+		return value;
+	}
+	
+	public ExistsContext getFailure() {
+		return failure;
+	}
+	
+	public String getEnrollmentId() {
+		return enrollmentId;
+	}
+}
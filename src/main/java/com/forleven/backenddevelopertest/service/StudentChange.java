@@ -0,0 +1,51 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.time.Instant;
+
+import com.forleven.backenddevelopertest.domain.Student;
+
+public final class StudentChange {
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+	
+	private final Type type;
+	
+	private final String enrollmentId;
+	
+	private final Instant changedAt;
+	
+	private final Student student;
+	
+	private StudentChange(Type type, String enrollmentId, Instant changedAt, Student student) {
+		this.type = type;
+		this.enrollmentId = enrollmentId;
+		this.changedAt = changedAt;
+		this.student = student;
+	}
+	
+	// Only the current state is kept, so a student updated since its creation is reported as updated
+	public static StudentChange upsert(Student student) {
+		return new StudentChange(student.getVersion() == 0 ? Type.CREATED : Type.UPDATED, student.getEnrollmentId(), student.getLastModified(), student);
+	}
+	
+	public static StudentChange deletion(String enrollmentId, Instant deletedAt) {
+		return new StudentChange(Type.DELETED, enrollmentId, deletedAt, null);
+	}
+	
+	public Type getType() {
+		return type;
+	}
+	
+	public String getEnrollmentId() {
+		return enrollmentId;
+	}
+	
+	public Instant getChangedAt() {
+		return changedAt;
+	}
+	
+	public Student getStudent() {
+		return student;
+	}
+}
@@ -0,0 +1,45 @@
+package com.forleven.backenddevelopertest.service;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Wakes the change feed requests waiting on this instance once a student write commits.
+ * Writes made through other instances are picked up when the waiting requests time out.
+ */
+@Aspect
+@Component
+public class StudentChangeNotifier {
+	private final IStudentChangeService changeService;
+
+	@Autowired
+	public StudentChangeNotifier(IStudentChangeService changeService) {
+		this.changeService = changeService;
+	}
+
+	@AfterReturning(pointcut="execution(* com.forleven.backenddevelopertest.service.IStudentService.save*(..)) "
+			+ "|| execution(* com.forleven.backenddevelopertest.service.IStudentService.update(..)) "
+			+ "|| execution(* com.forleven.backenddevelopertest.service.IStudentService.delete(..)) "
+			+ "|| execution(* com.forleven.backenddevelopertest.service.IStudentService.trySave(..)) "
+			+ "|| execution(* com.forleven.backenddevelopertest.service.IStudentService.tryUpdate(..)) "
+			+ "|| execution(* com.forleven.backenddevelopertest.service.IStudentService.tryDelete(..))", returning="result")
+	public void notifyChange(Object result) {
+		if (result instanceof ServiceResult && !((ServiceResult<?>) result).isSuccess()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					changeService.changed();
+				}
+			});
+		} else {
+			changeService.changed();
+		}
+	}
+}
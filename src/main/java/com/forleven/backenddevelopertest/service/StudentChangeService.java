@@ -0,0 +1,176 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forleven.backenddevelopertest.config.PrimaryRouting;
+import com.forleven.backenddevelopertest.dao.StudentHistoryRepository;
+import com.forleven.backenddevelopertest.dao.StudentRepository;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Students changed after a cursor come from their last modification and deletions from the
+ * student history. Only changes older than the safety lag are returned, so a transaction that
+ * commits late with an earlier timestamp is still seen before the cursor moves past it. Both
+ * timestamps are stamped by the database clock, so the lag is measured against it as well.
+ */
+@Service
+public class StudentChangeService implements IStudentChangeService {
+	private static final String DELETE_OPERATION = "delete";
+
+	private static final String DATABASE_NOW = "select now()";
+
+	private static final String OLDEST_PENDING_DELETION = "select min(recorded_at) from history_outbox where entity = 'student' and operation = 'delete'";
+
+	// Timestamp columns hold whole seconds, so a change is only older than the safety lag up to a second later
+	private static final long TIMESTAMP_PRECISION_MILLIS = 1000;
+
+	private StudentRepository studentRepository;
+
+	private StudentHistoryRepository studentHistoryRepository;
+
+	private TransactionTemplate transactionTemplate;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TimeZone timeZone;
+
+	private ServiceProperties props;
+
+	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2,
+			new ThreadFactoryBuilder().setNameFormat("student-changes-%d").setDaemon(true).build());
+
+	private final Set<Runnable> waiters = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public StudentChangeService(StudentRepository studentRepository, StudentHistoryRepository studentHistoryRepository, PlatformTransactionManager transactionManager,
+			                    JdbcTemplate jdbcTemplate, @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String timeZone,
+			                    @Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.studentRepository = studentRepository;
+		this.studentHistoryRepository = studentHistoryRepository;
+		// Its reads are pinned to the primary: a lagging replica would let the cursor move past rows it has not received yet
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.jdbcTemplate = jdbcTemplate;
+		this.timeZone = TimeZone.getTimeZone(timeZone);
+		this.props = props;
+	}
+
+	@Override
+	public StudentChanges findChanges(ChangeCursor since, int limit) {
+		return PrimaryRouting.call(() -> transactionTemplate.execute(status -> read(since, Math.min(limit, props.maxPageSize()))));
+	}
+
+	private StudentChanges read(ChangeCursor since, int limit) {
+		Instant until = databaseNow().minusMillis(props.changeFeedSafetyLagMillis());
+		if (props.auditOutbox()) {
+			// Outbox deletions reach the history only when flushed, stamped with the time they were recorded,
+			// so upserts stop before the oldest one still waiting instead of overtaking it
+			Instant pending = timestamp(OLDEST_PENDING_DELETION);
+			if (pending != null && pending.isBefore(until)) {
+				until = pending;
+			}
+		}
+		PageRequest page = PageRequest.of(0, limit);
+		List<Student> upserts = studentRepository.findModifiedAfter(since.getLastModified(), since.getStudentId(), until, page).getContent();
+		List<StudentHistory> deletions = studentHistoryRepository.findByOperationAndIdGreaterThanOrderByIdAsc(DELETE_OPERATION, since.getDeletionId(), page).getContent();
+
+		List<StudentChange> changes = new ArrayList<>();
+		ChangeCursor next = since;
+		int u = 0;
+		int d = 0;
+		while (changes.size() < limit) {
+			// Deletions are read by id, so the first one recorded too recently ends their stream instead of being skipped
+			StudentHistory deletion = d < deletions.size() && deletions.get(d).getHistoryInsertion().isBefore(until) ? deletions.get(d) : null;
+			Student upsert = u < upserts.size() ? upserts.get(u) : null;
+			if (deletion == null && upsert == null) {
+				break;
+			}
+			// On a tie the deletion goes first: a deleted student has no upserts left and its enrollment ID may be reused
+			if (upsert == null || (deletion != null && !deletion.getHistoryInsertion().isAfter(upsert.getLastModified()))) {
+				changes.add(StudentChange.deletion(deletion.getEnrollmentId(), deletion.getHistoryInsertion()));
+				next = next.afterDeletion(deletion.getId());
+				d++;
+			} else {
+				changes.add(StudentChange.upsert(upsert));
+				next = next.afterUpsert(upsert.getLastModified(), upsert.getId());
+				u++;
+			}
+		}
+		return new StudentChanges(changes, next);
+	}
+
+	private Instant databaseNow() {
+		return timestamp(DATABASE_NOW);
+	}
+
+	// Read with the time zone Hibernate reads last_modification with, so both go through the same conversion
+	private Instant timestamp(String sql) {
+		Timestamp timestamp = jdbcTemplate.queryForObject(sql, (rs, row) -> rs.getTimestamp(1, Calendar.getInstance(timeZone)));
+		return timestamp == null ? null : timestamp.toInstant();
+	}
+
+	@Override
+	public CompletableFuture<StudentChanges> awaitChanges(ChangeCursor since, int limit, long waitMillis) {
+		CompletableFuture<StudentChanges> result = new CompletableFuture<>();
+		Runnable waiter = () -> executor.schedule(() -> complete(result, since, limit, false),
+				props.changeFeedSafetyLagMillis() + TIMESTAMP_PRECISION_MILLIS, TimeUnit.MILLISECONDS);
+		// Registered before the first read so a change committed in between still wakes the request
+		waiters.add(waiter);
+		result.whenComplete((changes, exc) -> waiters.remove(waiter));
+		long wait = Math.min(waitMillis, props.changeFeedMaxWaitSeconds() * 1000);
+		complete(result, since, limit, wait <= 0);
+		if (!result.isDone()) {
+			executor.schedule(() -> complete(result, since, limit, true), wait, TimeUnit.MILLISECONDS);
+		}
+		return result;
+	}
+
+	private void complete(CompletableFuture<StudentChanges> result, ChangeCursor since, int limit, boolean last) {
+		if (result.isDone()) {
+			return;
+		}
+		try {
+			StudentChanges changes = findChanges(since, limit);
+			if (last || !changes.isEmpty()) {
+				result.complete(changes);
+			}
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	@Override
+	public void changed() {
+		waiters.forEach(Runnable::run);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,26 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.util.List;
+
+public final class StudentChanges {
+	private final List<StudentChange> changes;
+	
+	private final ChangeCursor next;
+	
+	public StudentChanges(List<StudentChange> changes, ChangeCursor next) {
+		this.changes = changes;
+		this.next = next;
+	}
+	
+	public List<StudentChange> getChanges() {
+		return changes;
+	}
+	
+	public ChangeCursor getNext() {
+		return next;
+	}
+	
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+}
@@ -0,0 +1,125 @@
+package com.forleven.backenddevelopertest.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forleven.backenddevelopertest.dao.PhoneHistoryRepository;
+import com.forleven.backenddevelopertest.dao.StudentHistoryRepository;
+import com.forleven.backenddevelopertest.dao.StudentRepository;
+import com.forleven.backenddevelopertest.dao.StudentVersion;
+import com.forleven.backenddevelopertest.domain.DomainEntity;
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.PhoneHistory;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+/**
+ * History rows hold the state a row had before the change recorded at their history insertion,
+ * so the state at an instant is the first history row recorded after it or, when there is none,
+ * the current row.
+ */
+@Service
+public class StudentHistoryService implements IStudentHistoryService {
+	private StudentRepository studentRepository;
+	
+	private StudentHistoryRepository studentHistoryRepository;
+	
+	private PhoneHistoryRepository phoneHistoryRepository;
+	
+	private ServiceProperties props;
+	
+	@Autowired
+	public StudentHistoryService(StudentRepository studentRepository, StudentHistoryRepository studentHistoryRepository, PhoneHistoryRepository phoneHistoryRepository,
+			                     @Qualifier("studentServiceProperties") ServiceProperties props) {
+		this.studentRepository = studentRepository;
+		this.studentHistoryRepository = studentHistoryRepository;
+		this.phoneHistoryRepository = phoneHistoryRepository;
+		this.props = props;
+	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public ServiceResult<Student> tryFindAsOf(String enrollmentId, Instant asOf) {
+		Optional<Integer> studentId = findStudentId(enrollmentId);
+		if (studentId.isEmpty()) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		Optional<Student> current = studentRepository.findById(studentId.get());
+		Optional<StudentHistory> replaced = studentHistoryRepository.findFirstByStudentIdAndHistoryInsertionAfterOrderByHistoryInsertionAscIdAsc(studentId.get(), asOf);
+		Student student;
+		if (replaced.isPresent()) {
+			student = replaced.get().toStudent();
+		} else if (current.isPresent()) {
+			student = copyOf(current.get());
+		} else {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		if (!existedAt(student, asOf)) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		
+		Map<Integer, Phone> phones = new TreeMap<>();
+		for (PhoneHistory phone : phoneHistoryRepository.findByStudentIdAndHistoryInsertionAfterOrderByPhoneIdAscHistoryInsertionAscIdAsc(studentId.get(), asOf)) {
+			phones.putIfAbsent(phone.getPhoneId(), phone.toPhone());
+		}
+		current.ifPresent(stored -> stored.getPhones().forEach(phone -> phones.putIfAbsent(phone.getId(), copyOf(phone))));
+		List<Phone> phonesAsOf = new ArrayList<>(phones.size());
+		for (Phone phone : phones.values()) {
+			if (existedAt(phone, asOf)) {
+				phonesAsOf.add(phone.withStudent(student));
+			}
+		}
+		return ServiceResult.of(student.withPhones(phonesAsOf));
+	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public ServiceResult<Slice<StudentHistory>> tryFindHistory(String enrollmentId, int page, int size) {
+		Optional<Integer> studentId = findStudentId(enrollmentId);
+		if (studentId.isEmpty()) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		return ServiceResult.of(studentHistoryRepository.findByStudentIdOrderByHistoryInsertionDescIdDesc(studentId.get(),
+				PageRequest.of(page, Math.min(size, props.maxPageSize()))));
+	}
+	
+	// Students deleted since keep being addressable by the last enrollment ID they had
+	private Optional<Integer> findStudentId(String enrollmentId) {
+		Optional<Integer> studentId = studentRepository.findVersionByEnrollmentId(enrollmentId).map(StudentVersion::getId);
+		if (studentId.isPresent()) {
+			return studentId;
+		}
+		return studentHistoryRepository.findFirstByEnrollmentIdOrderByHistoryInsertionDescIdDesc(enrollmentId).map(StudentHistory::getStudentId);
+	}
+	
+	private static boolean existedAt(DomainEntity entity, Instant asOf) {
+		return entity.getCreatedAt() == null || !entity.getCreatedAt().isAfter(asOf);
+	}
+	
+	private static Student copyOf(Student stored) {
+		Student student = new Student(stored.getId(), stored.getFirstName(), stored.getLastName(), stored.getEnrollmentId());
+		student.setVersion(stored.getVersion());
+		student.setLastModified(stored.getLastModified());
+		student.setCreatedAt(stored.getCreatedAt());
+		return student;
+	}
+	
+	private static Phone copyOf(Phone stored) {
+		Phone phone = new Phone(stored.getId(), stored.getPhoneNumber(), stored.getPhoneType(), stored.getLastModified(), stored.getCreatedAt());
+		phone.setVersion(stored.getVersion());
+		return phone;
+	}
+}
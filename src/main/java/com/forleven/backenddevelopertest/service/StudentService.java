@@ -1,18 +1,38 @@
 package com.forleven.backenddevelopertest.service;
 
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.forleven.backenddevelopertest.cache.EnrollmentIdFilter;
+import com.forleven.backenddevelopertest.cache.StudentResponseCache;
+import com.forleven.backenddevelopertest.config.PrimaryRouting;
 import com.forleven.backenddevelopertest.dao.StudentRepository;
+import com.forleven.backenddevelopertest.dao.StudentSpecifications;
+import com.forleven.backenddevelopertest.dao.StudentVersion;
+import com.forleven.backenddevelopertest.dao.VersionSummary;
 import com.forleven.backenddevelopertest.domain.Student;
 import com.forleven.backenddevelopertest.exception.RequirementViolationException;
 import com.forleven.backenddevelopertest.service.helper.StudentServiceHelper;
+import com.forleven.backenddevelopertest.util.EntityTags;
 import com.forleven.backenddevelopertest.util.ExistsContext;
 import com.forleven.backenddevelopertest.util.ServiceProperties;
 
@@ -20,42 +40,157 @@ import com.forleven.backenddevelopertest.util.ServiceProperties;
 public class StudentService implements IStudentService {	
 	private StudentRepository studentRepository;
 	
-	@Autowired
-	@Qualifier("studentServiceProperties")
 	private ServiceProperties props;
+	
+	private StudentResponseCache responseCache;
+	
+	private EnrollmentIdFilter enrollmentIdFilter;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
 
 	@Autowired
-	public StudentService(StudentRepository studentRepository) {
+	public StudentService(StudentRepository studentRepository, @Qualifier("studentServiceProperties") ServiceProperties props, StudentResponseCache responseCache, EnrollmentIdFilter enrollmentIdFilter) {
 		this.studentRepository = studentRepository;
+		this.props = props;
+		this.responseCache = responseCache;
+		this.enrollmentIdFilter = enrollmentIdFilter;
 	}
 	
 	@Override
-	@Transactional
+	@Transactional(readOnly=true)
 	public List<Student> findAll() {
 		return studentRepository.findAll();
 	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public Slice<Student> findAll(int after, int limit) {
+		return studentRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, Math.min(limit, props.maxPageSize())));
+	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public Slice<Student> search(String firstName, String lastName, boolean prefix, NameCursor after, int size) {
+		Specification<Student> specification = Specification.where(StudentSpecifications.lastName(lastName, prefix))
+				.and(StudentSpecifications.firstName(firstName, prefix));
+		if (after != null) {
+			specification = specification.and(StudentSpecifications.after(after.getLastName(), after.getFirstName(), after.getId()));
+		}
+		return studentRepository.findSlice(specification, StudentSpecifications.BY_NAME, Math.min(size, props.maxPageSize()));
+	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public void forEach(Consumer<Student> action) {
+		try (Stream<Student> students = studentRepository.streamAll()) {
+			students.forEach(student -> {
+				action.accept(student);
+				entityManager.detach(student);
+			});
+		}
+	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly=true)
+	public String findAllTag() {
+		// Every write changes the count or the version sum, and ids only grow, so a delete followed by a create changes the id sum
+		VersionSummary summary = studentRepository.summarizeVersions();
+		return EntityTags.of(summary.getCount(), summary.getIdSum(), summary.getVersionSum());
+	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public String findPageTag(int after, int limit) {
+		Slice<StudentVersion> versions = studentRepository.findVersionsByIdGreaterThan(after, PageRequest.of(0, Math.min(limit, props.maxPageSize())));
+		return EntityTags.ofVersions(versions, versions.hasNext());
+	}
+
+	@Override
+	@Transactional(readOnly=true)
 	public Student find(String enrollmentId) throws RequirementViolationException {
-		Optional<Student> student = studentRepository.findByEnrollmentId(enrollmentId);		
+		return orElseThrow(tryFind(enrollmentId));
+	}
+	
+	// Pinned to the primary: its result fills the response cache, where a lagging replica would
+	// leave the body from before the last write until the entry expires
+	@Override
+	@Transactional(readOnly=true)
+	public ServiceResult<Student> tryFind(String enrollmentId) {
+		if (!enrollmentIdFilter.mightContain(enrollmentId)) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		Optional<Student> student = PrimaryRouting.call(() -> studentRepository.findByEnrollmentId(enrollmentId));
 		if (student.isPresent()) {
-			return student.get();
+			return ServiceResult.of(student.get());
 		} else {
-			throw new RequirementViolationException(ExistsContext.NOT_FOUND.label, props.entityName(), props.msgEnrollmentId() + " " + enrollmentId + " " + ExistsContext.NOT_FOUND.message);
+			enrollmentIdFilter.recordFalsePositive();
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
 		}
 	}
 	
+	// Pinned like tryFind, so a revalidation is never answered from a version older than the cached body
 	@Override
-	@Transactional
+	@Transactional(readOnly=true)
+	public ServiceResult<String> tryFindTag(String enrollmentId) {
+		if (!enrollmentIdFilter.mightContain(enrollmentId)) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		Optional<StudentVersion> version = PrimaryRouting.call(() -> studentRepository.findVersionByEnrollmentId(enrollmentId));
+		if (version.isPresent()) {
+			return ServiceResult.of(EntityTags.ofVersion(version.get().getId(), version.get().getVersion()));
+		} else {
+			enrollmentIdFilter.recordFalsePositive();
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+	}
+	
+	@Override
+	@Transactional(rollbackFor=RequirementViolationException.class)
 	public Student save(Student student) throws RequirementViolationException {
-		if (!studentRepository.existsByEnrollmentId(student.getEnrollmentId())) {
-			return studentRepository.save(StudentServiceHelper.setStudentPhonesToDistinct(student));
+		return orElseThrow(trySave(student));
+	}
+	
+	@Override
+	@Transactional
+	public ServiceResult<Student> trySave(Student student) {
+		if (props.insertFirstCreate() && ownsTransaction()) {
+			try {
+				responseCache.invalidate(student.getEnrollmentId());
+				enrollmentIdFilter.put(student.getEnrollmentId());
+				return ServiceResult.of(studentRepository.saveAndFlush(StudentServiceHelper.setStudentPhonesToDistinct(student)));
+			} catch (DataIntegrityViolationException e) {
+				if (StudentServiceHelper.isEnrollmentIdViolation(e)) {
+					return rollback(ServiceResult.failure(ExistsContext.ALREADY_EXISTS, student.getEnrollmentId()));
+				}
+				throw e;
+			}
+		}
+		if (!enrollmentIdFilter.mightContain(student.getEnrollmentId()) || !studentRepository.existsByEnrollmentId(student.getEnrollmentId())) {
+			responseCache.invalidate(student.getEnrollmentId());
+			enrollmentIdFilter.put(student.getEnrollmentId());
+			return ServiceResult.of(studentRepository.save(StudentServiceHelper.setStudentPhonesToDistinct(student)));
 		} else {
-			throw new RequirementViolationException(ExistsContext.ALREADY_EXISTS.label, props.entityName(), props.msgEnrollmentId() + " " + student.getEnrollmentId() + " " + ExistsContext.ALREADY_EXISTS.message);
+			return ServiceResult.failure(ExistsContext.ALREADY_EXISTS, student.getEnrollmentId());
 		}
 	}
 
+	@Override
+	@Transactional
+	public List<Student> saveAll(List<Student> students) {
+		if (students.isEmpty()) {
+			return students;
+		}
+		Set<String> candidates = students.stream().map(Student::getEnrollmentId).filter(enrollmentIdFilter::mightContain).collect(Collectors.toSet());
+		Set<String> enrollmentIds = candidates.isEmpty() ? new HashSet<>() : new HashSet<>(studentRepository.findExistingEnrollmentIds(candidates));
+		List<Student> savedStudents = studentRepository.saveAll(students.stream()
+				.filter(student -> enrollmentIds.add(student.getEnrollmentId()))
+				.map(StudentServiceHelper::setStudentPhonesToDistinct)
+				.collect(Collectors.toList()));
+		savedStudents.forEach(student -> enrollmentIdFilter.put(student.getEnrollmentId()));
+		return savedStudents;
+	}
+
 	@Override
 	@Transactional
 	public Student update(Student student) throws RequirementViolationException {
@@ -65,37 +200,121 @@ public class StudentService implements IStudentService {
 	@Override
 	@Transactional
 	public Student update(Student student, String enrollmentId) throws RequirementViolationException {
+		return update(student, enrollmentId, null);
+	}
+	
+	@Override
+	@Transactional
+	public Student update(Student student, String enrollmentId, String ifMatch) throws RequirementViolationException {
+		return orElseThrow(tryUpdate(student, enrollmentId, ifMatch));
+	}
+	
+	@Override
+	@Transactional
+	public ServiceResult<Student> tryUpdate(Student student, String enrollmentId, String ifMatch) {
+		if (!enrollmentIdFilter.mightContain(enrollmentId)) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
 		Optional<Student> possiblyStoredStudent = studentRepository.findByEnrollmentId(enrollmentId);
 		if (possiblyStoredStudent.isPresent()) {
 			Student storedStudent = possiblyStoredStudent.get();
-
-			if (Objects.isNull(student.getEnrollmentId())) {
-				student.setEnrollmentId(enrollmentId);
+			if (!EntityTags.matches(ifMatch, EntityTags.ofVersion(storedStudent.getId(), storedStudent.getVersion()))) {
+				return ServiceResult.failure(ExistsContext.PRECONDITION_FAILED, enrollmentId);
 			}
-			student.setId(storedStudent.getId());
-			student.setCreatedAt(storedStudent.getCreatedAt());
-			student.setPhones(StudentServiceHelper.getStudentPhonesToBeStored(student, storedStudent));
-
-			return studentRepository.save(student);
+			if (StudentServiceHelper.applyChanges(storedStudent, student)) {
+				responseCache.invalidate(enrollmentId, storedStudent.getEnrollmentId());
+				enrollmentIdFilter.put(storedStudent.getEnrollmentId());
+			}
+			return ServiceResult.of(storedStudent);
 		} else {
-			throw new RequirementViolationException(ExistsContext.NOT_FOUND.label, props.entityName(), props.msgEnrollmentId() + " " + enrollmentId + " " + ExistsContext.NOT_FOUND.message);
+			enrollmentIdFilter.recordFalsePositive();
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
 		}
 	}
 	
 	@Override
 	@Transactional
-	public boolean delete(Student student) throws RequirementViolationException {
+	public int delete(Student student) throws RequirementViolationException {
 		return delete(student.getEnrollmentId());
 	}
 	
 	@Override
 	@Transactional
-	public boolean delete(String enrollmentId) throws RequirementViolationException {
-		Optional<Student> student = studentRepository.findByEnrollmentId(enrollmentId);
-		if (student.isPresent()) {
-			return studentRepository.deleteByEnrollmentId(enrollmentId) > 0;
+	public int delete(String enrollmentId) throws RequirementViolationException {
+		return delete(enrollmentId, null);
+	}
+	
+	@Override
+	@Transactional(rollbackFor=RequirementViolationException.class)
+	public int delete(String enrollmentId, String ifMatch) throws RequirementViolationException {
+		return orElseThrow(tryDelete(enrollmentId, ifMatch));
+	}
+	
+	@Override
+	@Transactional
+	public ServiceResult<Integer> tryDelete(String enrollmentId, String ifMatch) {
+		if (!enrollmentIdFilter.mightContain(enrollmentId)) {
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		if (ifMatch != null) {
+			return deleteVersion(enrollmentId, ifMatch);
+		}
+		if (props.auditOutbox()) {
+			studentRepository.recordPhoneDeletionsByEnrollmentId(enrollmentId);
+			studentRepository.recordStudentDeletionByEnrollmentId(enrollmentId);
+		}
+		int phones = studentRepository.deletePhonesByEnrollmentId(enrollmentId);
+		int students = studentRepository.deleteByEnrollmentId(enrollmentId);
+		if (students > 0) {
+			responseCache.invalidate(enrollmentId);
+			return ServiceResult.of(students + phones);
 		} else {
-			throw new RequirementViolationException(ExistsContext.NOT_FOUND.label, props.entityName(), props.msgEnrollmentId() + " " + enrollmentId + " " + ExistsContext.NOT_FOUND.message);
+			enrollmentIdFilter.recordFalsePositive();
+			return rollback(ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId));
+		}
+	}
+	
+	private ServiceResult<Integer> deleteVersion(String enrollmentId, String ifMatch) {
+		Optional<StudentVersion> version = studentRepository.findVersionByEnrollmentId(enrollmentId);
+		if (version.isEmpty()) {
+			enrollmentIdFilter.recordFalsePositive();
+			return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+		}
+		int id = version.get().getId();
+		if (EntityTags.matches(ifMatch, EntityTags.ofVersion(id, version.get().getVersion()))) {
+			if (props.auditOutbox()) {
+				studentRepository.recordPhoneDeletionsByStudentId(id);
+				studentRepository.recordStudentDeletionByIdAndVersion(id, version.get().getVersion());
+			}
+			int phones = studentRepository.deletePhonesByStudentId(id);
+			// Rolled back below if the student changed after its version was read
+			int students = studentRepository.deleteByIdAndVersion(id, version.get().getVersion());
+			if (students > 0) {
+				responseCache.invalidate(enrollmentId);
+				return ServiceResult.of(students + phones);
+			}
+		}
+		return rollback(ServiceResult.failure(ExistsContext.PRECONDITION_FAILED, enrollmentId));
+	}
+	
+	// Insert-first rolls back on a duplicate, which would doom a caller's transaction it joined, so
+	// inside one it falls back to checking the enrollment ID before inserting
+	private static boolean ownsTransaction() {
+		return !TransactionSynchronizationManager.isActualTransactionActive() || TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+	}
+	
+	private <T> ServiceResult<T> rollback(ServiceResult<T> result) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+		}
+		return result;
+	}
+	
+	private <T> T orElseThrow(ServiceResult<T> result) throws RequirementViolationException {
+		if (result.isSuccess()) {
+			return result.get();
 		}
+		ExistsContext failure = result.getFailure();
+		throw new RequirementViolationException(failure.label, props.entityName(), props.msgEnrollmentId() + " " + result.getEnrollmentId() + " " + failure.message);
 	}
 }
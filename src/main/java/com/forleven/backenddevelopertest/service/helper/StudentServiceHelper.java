@@ -1,12 +1,17 @@
 package com.forleven.backenddevelopertest.service.helper;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.collections.impl.block.factory.HashingStrategies;
 import org.eclipse.collections.impl.utility.ListIterate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.forleven.backenddevelopertest.domain.Phone;
 import com.forleven.backenddevelopertest.domain.Student;
@@ -31,6 +36,41 @@ public class StudentServiceHelper {
 		return Lists.newArrayList(Sets.union(newPhoneSet, alreadyStoredPhoneSet));
 	}
 
+	public static boolean applyChanges(Student storedStudent, Student student) {
+		boolean changed = false;
+		if (!Objects.equals(storedStudent.getFirstName(), student.getFirstName())) {
+			storedStudent.setFirstName(student.getFirstName());
+			changed = true;
+		}
+		if (!Objects.equals(storedStudent.getLastName(), student.getLastName())) {
+			storedStudent.setLastName(student.getLastName());
+			changed = true;
+		}
+		if (Objects.nonNull(student.getEnrollmentId()) && !Objects.equals(storedStudent.getEnrollmentId(), student.getEnrollmentId())) {
+			storedStudent.setEnrollmentId(student.getEnrollmentId());
+			changed = true;
+		}
+		return applyPhoneChanges(storedStudent, student.getPhones()) || changed;
+	}
+	
+	public static boolean applyPhoneChanges(Student storedStudent, List<Phone> phones) {
+		storedStudent.getPhones().forEach(phone -> phone.setStudent(storedStudent));
+		List<Phone> distinctPhones = assocAndRetrievePhonesAsList(storedStudent, getDistinctPhones(phones));
+		Set<Phone> phoneSet = new HashSet<>(distinctPhones);
+		boolean changed = storedStudent.getPhones().removeIf(phone -> !phoneSet.contains(phone));
+		
+		Set<Phone> storedPhoneSet = new HashSet<>(storedStudent.getPhones());
+		List<Phone> newPhones = distinctPhones.stream().filter(phone -> !storedPhoneSet.contains(phone)).collect(Collectors.toList());
+		return storedStudent.getPhones().addAll(newPhones) || changed;
+	}
+
+	public static boolean isEnrollmentIdViolation(DataIntegrityViolationException exc) {
+		if (!(exc.getCause() instanceof ConstraintViolationException)) {
+			return false;
+		}
+		return StringUtils.containsIgnoreCase(((ConstraintViolationException) exc.getCause()).getConstraintName(), Student.ENROLLMENT_ID_UNIQUE);
+	}
+
 	public static List<Phone> getDistinctPhones(List<Phone> phones) {
 		return ListIterate.distinct(phones, HashingStrategies.fromFunctions(Phone::getPhoneNumber, Phone::getPhoneType));
 	}
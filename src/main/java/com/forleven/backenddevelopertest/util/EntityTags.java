@@ -0,0 +1,41 @@
+package com.forleven.backenddevelopertest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.forleven.backenddevelopertest.dao.StudentVersion;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+public class EntityTags {
+	private EntityTags() {}
+	
+	public static String of(Object... parts) {
+		return ofVersions(Collections.emptyList(), parts);
+	}
+	
+	// Built from student ids and versions, which every write changes, phone edits included,
+	// unlike the one-second last_modification column
+	public static String ofVersions(Iterable<StudentVersion> versions, Object... parts) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (StudentVersion version : versions) {
+			hasher.putInt(version.getId()).putInt(version.getVersion()).putChar('|');
+		}
+		for (Object part : parts) {
+			hasher.putString(String.valueOf(part), StandardCharsets.UTF_8).putChar('|');
+		}
+		return "\"" + hasher.hash() + "\"";
+	}
+	
+	public static String ofVersion(int id, int version) {
+		return "\"" + id + "." + version + "\"";
+	}
+	
+	public static boolean matches(String ifMatch, String tag) {
+		if (ifMatch == null || ifMatch.trim().equals("*")) {
+			return true;
+		}
+		return Arrays.stream(ifMatch.split(",")).map(String::trim).anyMatch(tag::equals);
+	}
+}
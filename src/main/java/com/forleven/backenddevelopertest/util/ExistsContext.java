@@ -7,7 +7,8 @@ import org.springframework.http.HttpStatus;
 
 public enum ExistsContext {
 	ALREADY_EXISTS("ALREADY_EXISTS", "already exists", HttpStatus.CONFLICT),
-	NOT_FOUND("NOT_FOUND", "does not exist", HttpStatus.NOT_FOUND);
+	NOT_FOUND("NOT_FOUND", "does not exist", HttpStatus.NOT_FOUND),
+	PRECONDITION_FAILED("PRECONDITION_FAILED", "has been modified", HttpStatus.PRECONDITION_FAILED);
 	
 	private static final Map<String, ExistsContext> BY_LABEL = new HashMap<>();
 	
@@ -18,6 +18,27 @@ public class ServiceProperties {
 	private String msgEnrollmentId;
 	private String msgAlreadyExists;
 	private String msgDoesNotExist;
+	private int maxPageSize;
+	private long cacheMaximumSize;
+	private long cacheExpireAfterWriteSeconds;
+	private boolean insertFirstCreate;
+	private boolean enrollmentFilterEnabled;
+	private long enrollmentFilterExpectedInsertions;
+	private double enrollmentFilterFalsePositiveProbability;
+	private long enrollmentFilterRebuildIntervalMillis;
+	private long enrollmentFilterSyncIntervalMillis;
+	private long enrollmentFilterSyncOverlapMillis;
+	private boolean auditOutbox;
+	private int auditOutboxBatchSize;
+	private long auditOutboxFlushIntervalMillis;
+	private long changeFeedSafetyLagMillis;
+	private long changeFeedMaxWaitSeconds;
+	private int importChunkSize;
+	private int importMaxReportedErrors;
+	private int importConcurrentJobs;
+	private long importJobRetentionSeconds;
+	private int importQueueCapacity;
+	private long importMaxFileBytes;
 
 	@Bean
 	@ConfigurationProperties(prefix="student.service")
@@ -75,4 +96,172 @@ public class ServiceProperties {
 	public void setMsgDoesNotExist(String msgDoesNotExist) {
 		this.msgDoesNotExist = msgDoesNotExist;
 	}
+	
+	public int maxPageSize() {
+		return maxPageSize;
+	}
+	
+	public void setMaxPageSize(int maxPageSize) {
+		this.maxPageSize = maxPageSize;
+	}
+	
+	public long cacheMaximumSize() {
+		return cacheMaximumSize;
+	}
+	
+	public void setCacheMaximumSize(long cacheMaximumSize) {
+		this.cacheMaximumSize = cacheMaximumSize;
+	}
+	
+	public long cacheExpireAfterWriteSeconds() {
+		return cacheExpireAfterWriteSeconds;
+	}
+	
+	public void setCacheExpireAfterWriteSeconds(long cacheExpireAfterWriteSeconds) {
+		this.cacheExpireAfterWriteSeconds = cacheExpireAfterWriteSeconds;
+	}
+	
+	public boolean insertFirstCreate() {
+		return insertFirstCreate;
+	}
+	
+	public void setInsertFirstCreate(boolean insertFirstCreate) {
+		this.insertFirstCreate = insertFirstCreate;
+	}
+	
+	public boolean enrollmentFilterEnabled() {
+		return enrollmentFilterEnabled;
+	}
+	
+	public void setEnrollmentFilterEnabled(boolean enrollmentFilterEnabled) {
+		this.enrollmentFilterEnabled = enrollmentFilterEnabled;
+	}
+	
+	public long enrollmentFilterExpectedInsertions() {
+		return enrollmentFilterExpectedInsertions;
+	}
+	
+	public void setEnrollmentFilterExpectedInsertions(long enrollmentFilterExpectedInsertions) {
+		this.enrollmentFilterExpectedInsertions = enrollmentFilterExpectedInsertions;
+	}
+	
+	public double enrollmentFilterFalsePositiveProbability() {
+		return enrollmentFilterFalsePositiveProbability;
+	}
+	
+	public void setEnrollmentFilterFalsePositiveProbability(double enrollmentFilterFalsePositiveProbability) {
+		this.enrollmentFilterFalsePositiveProbability = enrollmentFilterFalsePositiveProbability;
+	}
+	
+	public long enrollmentFilterRebuildIntervalMillis() {
+		return enrollmentFilterRebuildIntervalMillis;
+	}
+	
+	public void setEnrollmentFilterRebuildIntervalMillis(long enrollmentFilterRebuildIntervalMillis) {
+		this.enrollmentFilterRebuildIntervalMillis = enrollmentFilterRebuildIntervalMillis;
+	}
+	
+	public long enrollmentFilterSyncIntervalMillis() {
+		return enrollmentFilterSyncIntervalMillis;
+	}
+	
+	public void setEnrollmentFilterSyncIntervalMillis(long enrollmentFilterSyncIntervalMillis) {
+		this.enrollmentFilterSyncIntervalMillis = enrollmentFilterSyncIntervalMillis;
+	}
+	
+	public long enrollmentFilterSyncOverlapMillis() {
+		return enrollmentFilterSyncOverlapMillis;
+	}
+	
+	public void setEnrollmentFilterSyncOverlapMillis(long enrollmentFilterSyncOverlapMillis) {
+		this.enrollmentFilterSyncOverlapMillis = enrollmentFilterSyncOverlapMillis;
+	}
+	
+	public boolean auditOutbox() {
+		return auditOutbox;
+	}
+	
+	public void setAuditOutbox(boolean auditOutbox) {
+		this.auditOutbox = auditOutbox;
+	}
+	
+	public int auditOutboxBatchSize() {
+		return auditOutboxBatchSize;
+	}
+	
+	public void setAuditOutboxBatchSize(int auditOutboxBatchSize) {
+		this.auditOutboxBatchSize = auditOutboxBatchSize;
+	}
+	
+	public long auditOutboxFlushIntervalMillis() {
+		return auditOutboxFlushIntervalMillis;
+	}
+	
+	public void setAuditOutboxFlushIntervalMillis(long auditOutboxFlushIntervalMillis) {
+		this.auditOutboxFlushIntervalMillis = auditOutboxFlushIntervalMillis;
+	}
+	
+	public long changeFeedSafetyLagMillis() {
+		return changeFeedSafetyLagMillis;
+	}
+	
+	public void setChangeFeedSafetyLagMillis(long changeFeedSafetyLagMillis) {
+		this.changeFeedSafetyLagMillis = changeFeedSafetyLagMillis;
+	}
+	
+	public long changeFeedMaxWaitSeconds() {
+		return changeFeedMaxWaitSeconds;
+	}
+	
+	public void setChangeFeedMaxWaitSeconds(long changeFeedMaxWaitSeconds) {
+		this.changeFeedMaxWaitSeconds = changeFeedMaxWaitSeconds;
+	}
+	
+	public int importChunkSize() {
+		return importChunkSize;
+	}
+	
+	public void setImportChunkSize(int importChunkSize) {
+		this.importChunkSize = importChunkSize;
+	}
+	
+	public int importMaxReportedErrors() {
+		return importMaxReportedErrors;
+	}
+	
+	public void setImportMaxReportedErrors(int importMaxReportedErrors) {
+		this.importMaxReportedErrors = importMaxReportedErrors;
+	}
+	
+	public int importConcurrentJobs() {
+		return importConcurrentJobs;
+	}
+	
+	public void setImportConcurrentJobs(int importConcurrentJobs) {
+		this.importConcurrentJobs = importConcurrentJobs;
+	}
+	
+	public long importJobRetentionSeconds() {
+		return importJobRetentionSeconds;
+	}
+	
+	public void setImportJobRetentionSeconds(long importJobRetentionSeconds) {
+		this.importJobRetentionSeconds = importJobRetentionSeconds;
+	}
+	
+	public int importQueueCapacity() {
+		return importQueueCapacity;
+	}
+	
+	public void setImportQueueCapacity(int importQueueCapacity) {
+		this.importQueueCapacity = importQueueCapacity;
+	}
+	
+	public long importMaxFileBytes() {
+		return importMaxFileBytes;
+	}
+	
+	public void setImportMaxFileBytes(long importMaxFileBytes) {
+		this.importMaxFileBytes = importMaxFileBytes;
+	}
 }
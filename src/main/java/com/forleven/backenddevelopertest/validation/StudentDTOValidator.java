@@ -0,0 +1,161 @@
+package com.forleven.backenddevelopertest.validation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.validation.groups.Default;
+
+import com.forleven.backenddevelopertest.dto.PhoneDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.exception.FieldViolationException;
+
+public final class StudentDTOValidator {
+	private static final String ENROLLMENT_ID = "enrollmentId";
+	private static final String FIRST_NAME = "firstName";
+	private static final String LAST_NAME = "lastName";
+	private static final String PHONES = "phones";
+	
+	// Matches the varchar(128) columns, so a row that passes is not rejected by the database instead
+	private static final int MAX_COLUMN_LENGTH = 128;
+	
+	private static final Class<?>[] ENROLLMENT_ID_NOT_BLANK_GROUPS = {CreateValidate.class, UpdateValidate.class, DeleteValidate.class};
+	private static final Class<?>[] ENROLLMENT_ID_FORMAT_GROUPS = {CommonValidate.class, DeleteValidate.class};
+	private static final Class<?>[] NAME_GROUPS = {CommonValidate.class};
+	private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+	
+	private StudentDTOValidator() {}
+	
+	public static void requireValid(StudentDTO dto, Class<?> group) {
+		Map<String, TreeSet<String>> errors = validate(dto, group);
+		if (!errors.isEmpty()) {
+			throw new FieldViolationException(errors);
+		}
+	}
+	
+	public static void requireValidEnrollmentId(String enrollmentId) {
+		Map<String, TreeSet<String>> errors = validateEnrollmentId(enrollmentId);
+		if (!errors.isEmpty()) {
+			throw new FieldViolationException(errors);
+		}
+	}
+	
+	public static Map<String, TreeSet<String>> validate(StudentDTO dto, Class<?> group) {
+		Map<String, TreeSet<String>> errors = new TreeMap<>();
+		if (dto == null) {
+			return errors;
+		}
+		
+		String enrollmentId = dto.getEnrollmentId();
+		if (applies(group, ENROLLMENT_ID_NOT_BLANK_GROUPS) && isBlank(enrollmentId)) {
+			add(errors, ENROLLMENT_ID, "The enrollment ID field cannot be empty");
+		}
+		if (applies(group, ENROLLMENT_ID_FORMAT_GROUPS) && enrollmentId != null) {
+			if (enrollmentId.length() < 3 || enrollmentId.length() > MAX_COLUMN_LENGTH) {
+				add(errors, ENROLLMENT_ID, "The enrollment ID field must have a size of at least 3 and at most 128 characters");
+			}
+			if (!isDigits(enrollmentId)) {
+				add(errors, ENROLLMENT_ID, "The enrollment ID field must be composed of numerical digits only");
+			}
+		}
+		
+		if (applies(group, NAME_GROUPS)) {
+			String firstName = dto.getFirstName();
+			if (isBlank(firstName)) {
+				add(errors, FIRST_NAME, "The first name field cannot be empty");
+			}
+			if (firstName != null && (firstName.length() < 3 || firstName.length() > MAX_COLUMN_LENGTH)) {
+				add(errors, FIRST_NAME, "The first name field must have a size of at least 3 and at most 128 characters");
+			}
+			String lastName = dto.getLastName();
+			if (isBlank(lastName)) {
+				add(errors, LAST_NAME, "The last name field cannot be empty");
+			}
+			if (lastName != null && (lastName.length() < 3 || lastName.length() > MAX_COLUMN_LENGTH)) {
+				add(errors, LAST_NAME, "The last name field must have a size of at least 3 and at most 128 characters");
+			}
+		}
+		
+		if (applies(group, DEFAULT_GROUPS)) {
+			List<PhoneDTO> phones = dto.getPhones();
+			if (phones == null) {
+				add(errors, PHONES, "The phones field cannot be null");
+			} else {
+				for (int i = 0; i < phones.size(); i++) {
+					PhoneDTO phone = phones.get(i);
+					if (phone != null) {
+						validatePhone(errors, i, phone);
+					}
+				}
+			}
+		}
+		return errors;
+	}
+	
+	public static Map<String, TreeSet<String>> validateEnrollmentId(String enrollmentId) {
+		Map<String, TreeSet<String>> errors = new TreeMap<>();
+		if (enrollmentId.length() < 3) {
+			add(errors, ENROLLMENT_ID, "The enrollment ID must have a size of at least 3 characters");
+		}
+		if (!isDigits(enrollmentId)) {
+			add(errors, ENROLLMENT_ID, "The enrollment ID must be composed of numerical digits only");
+		}
+		return errors;
+	}
+	
+	private static void validatePhone(Map<String, TreeSet<String>> errors, int index, PhoneDTO phone) {
+		String phoneNumber = phone.getPhoneNumber();
+		if (isBlank(phoneNumber)) {
+			add(errors, PHONES + "[" + index + "].phoneNumber", "The phone number field cannot be empty");
+		}
+		if (phoneNumber != null && (phoneNumber.length() < 3 || phoneNumber.length() > 20)) {
+			add(errors, PHONES + "[" + index + "].phoneNumber", "The phone number field must have a size of at least 3 and at most 20 characters");
+		}
+		String phoneType = phone.getPhoneType();
+		if (isBlank(phoneType)) {
+			add(errors, PHONES + "[" + index + "].phoneType", "The phone type field cannot be empty");
+		}
+		if (phoneType != null && phoneType.length() > MAX_COLUMN_LENGTH) {
+			add(errors, PHONES + "[" + index + "].phoneType", "The phone type field must have a size of at most 128 characters");
+		}
+	}
+	
+	private static boolean applies(Class<?> group, Class<?>[] constraintGroups) {
+		for (Class<?> constraintGroup : constraintGroups) {
+			if (constraintGroup.isAssignableFrom(group)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isBlank(String value) {
+		if (value == null) {
+			return true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean isDigits(String value) {
+		if (value.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static void add(Map<String, TreeSet<String>> errors, String field, String message) {
+		errors.computeIfAbsent(field, key -> new TreeSet<>()).add(message);
+	}
+}
@@ -0,0 +1,47 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forleven.backenddevelopertest.exception.ExistsErrorBodies;
+import com.forleven.backenddevelopertest.exception.GeneralExceptionHandler;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+class ExistsErrorBodiesTests {
+	private ServiceProperties props;
+	
+	private ExistsErrorBodies errorBodies;
+	
+	private ObjectMapper objectMapper;
+	
+	@BeforeEach
+	public void init() {
+		props = new ServiceProperties();
+		props.setEntityName("student");
+		props.setMsgEnrollmentId("Student with \"Enrollment\" ID");
+		errorBodies = new ExistsErrorBodies(props);
+		objectMapper = new ObjectMapper();
+	}
+	
+	@Test
+	void of_MatchesExceptionHandlerTest() throws JsonProcessingException {
+		for (ExistsContext ctx : ExistsContext.values()) {
+			for (String enrollmentId : new String[] {"202012345", "20\"20\\12"}) {
+				ResponseEntity<?> expected = new GeneralExceptionHandler().handleBusinessRuleViolationException(
+						new RequirementViolationException(ctx.label, props.entityName(), props.msgEnrollmentId() + " " + enrollmentId + " " + ctx.message));
+				ResponseEntity<byte[]> actual = errorBodies.of(ctx, enrollmentId);
+				
+				assertEquals(expected.getStatusCode(), actual.getStatusCode());
+				assertArrayEquals(objectMapper.writeValueAsBytes(expected.getBody()), actual.getBody());
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.forleven.backenddevelopertest.audit.HistoryOutboxWriter;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HistoryOutboxWriterTests {
+	private static final int BATCH_SIZE = 3;
+
+	private EmbeddedDatabase database;
+	private JdbcTemplate jdbcTemplate;
+	private HistoryOutboxWriter writer;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	public void init() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("create table history_outbox (id bigint auto_increment primary key, entity varchar(16) not null, entity_id int not null, student_id int, "
+				+ "first_name varchar(128), last_name varchar(128), enrollment_id varchar(128), phone_number varchar(128), phone_type varchar(128), times_updated int, "
+				+ "last_modification timestamp, created_at timestamp, recorded_at timestamp default current_timestamp not null, operation varchar(128) not null)");
+		jdbcTemplate.execute("create table student_history (id int auto_increment primary key, student_id int not null, first_name varchar(128) not null, last_name varchar(128) not null, "
+				+ "enrollment_id varchar(128) not null, times_updated int, last_modification timestamp not null, created_at timestamp, history_insertion timestamp not null, operation varchar(128) not null)");
+		jdbcTemplate.execute("create table phone_history (id int auto_increment primary key, phone_id int not null, student_id int, phone_number varchar(128), phone_type varchar(128), "
+				+ "times_updated int, last_modification timestamp not null, created_at timestamp, history_insertion timestamp not null, operation varchar(128) not null)");
+
+		ServiceProperties props = new ServiceProperties();
+		props.setAuditOutbox(true);
+		props.setAuditOutboxBatchSize(BATCH_SIZE);
+		writer = new HistoryOutboxWriter(jdbcTemplate, new DataSourceTransactionManager(database), props);
+		registry = new SimpleMeterRegistry();
+		writer.bindTo(registry);
+	}
+
+	@AfterEach
+	public void shutdown() {
+		database.shutdown();
+	}
+
+	@Test
+	void flushMovesEveryEventInBatchesTest() {
+		for (int i = 0; i < 4; i++) {
+			recordStudent(i, i % 2 == 0 ? "update" : "delete");
+			recordPhone(100 + i, i, "delete");
+		}
+
+		assertEquals(8, writer.flush());
+
+		assertEquals(0, count("history_outbox"));
+		assertEquals(4, count("student_history"));
+		assertEquals(4, count("phone_history"));
+		assertEquals(1, jdbcTemplate.queryForObject("select student_id from phone_history where phone_id = 101", Integer.class));
+		assertEquals(2, jdbcTemplate.queryForObject("select count(*) from student_history where operation = 'delete'", Integer.class));
+		assertEquals(8.0, registry.get("student.audit.outbox.written").functionCounter().count());
+		assertEquals(0.0, registry.get("student.audit.outbox.backlog").gauge().value());
+	}
+
+	@Test
+	void flushKeepsEventOrderTest() {
+		recordStudent(1, "update");
+		recordStudent(1, "update");
+		recordStudent(1, "delete");
+
+		writer.flush();
+
+		assertEquals(Arrays.asList("update", "update", "delete"),
+				jdbcTemplate.queryForList("select operation from student_history order by id", String.class));
+	}
+
+	@Test
+	void flushWithEmptyOutboxTest() {
+		assertEquals(0, writer.flush());
+		assertEquals(0, count("student_history"));
+	}
+
+	private void recordStudent(int id, String operation) {
+		jdbcTemplate.update("insert into history_outbox (entity, entity_id, student_id, first_name, last_name, enrollment_id, times_updated, last_modification, created_at, operation) "
+				+ "values ('student', ?, ?, 'João', 'Silva', ?, 0, current_timestamp, current_timestamp, ?)", id, id, "20201234" + id, operation);
+	}
+
+	private void recordPhone(int id, int studentId, String operation) {
+		jdbcTemplate.update("insert into history_outbox (entity, entity_id, student_id, phone_number, phone_type, times_updated, last_modification, created_at, operation) "
+				+ "values ('phone', ?, ?, '91234-5678', 'Mobile', 0, current_timestamp, current_timestamp, ?)", id, studentId, operation);
+	}
+
+	private int count(String table) {
+		return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+	}
+}
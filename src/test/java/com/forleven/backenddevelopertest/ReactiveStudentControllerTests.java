@@ -0,0 +1,92 @@
+package com.forleven.backenddevelopertest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.forleven.backenddevelopertest.controller.ReactiveStudentController;
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.service.IReactiveStudentService;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(ReactiveStudentController.class)
+class ReactiveStudentControllerTests {
+	@MockBean
+	private IReactiveStudentService service;
+
+	@Autowired
+	private MockMvc mvc;
+	
+	@Test
+	void findAllTest() throws Exception {
+		Student student = new Student(2, "Maria", "Silva", "202012346");
+		student.addPhone(new Phone("91234-5678", "Mobile"));
+		
+		Mockito.when(service.findAll()).thenReturn(Flux.just(new Student(1, "João", "Silva", "202012345"), student));
+		MvcResult result = mvc.perform(get("/api/reactive/students")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+		mvc.perform(asyncDispatch(result))
+					.andExpect(jsonPath("$", hasSize(2)))
+					.andExpect(jsonPath("$[1].phones", hasSize(1)))
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void findStudentTest() throws Exception {
+		Mockito.when(service.find("202012345")).thenReturn(Mono.just(new Student(1, "João", "Silva", "202012345")));
+		MvcResult result = mvc.perform(get("/api/reactive/students/{enrollmentId}", "202012345")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+		mvc.perform(asyncDispatch(result))
+					.andExpect(jsonPath("$.enrollmentId", is("202012345")))
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void findStudent_NotFoundTest() throws Exception {
+		Mockito.when(service.find("202012345")).thenReturn(Mono.error(new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID 202012345 " + ExistsContext.NOT_FOUND.message)));
+		MvcResult result = mvc.perform(get("/api/reactive/students/{enrollmentId}", "202012345")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+		mvc.perform(asyncDispatch(result))
+					.andExpect(status().isNotFound());
+	}
+	
+	@Test
+	void findStudent_InvalidRequestNonNumericalTest() throws Exception {
+		mvc.perform(get("/api/reactive/students/{enrollmentId}", "abc")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	void findStudent_InvalidRequestTooShortTest() throws Exception {
+		mvc.perform(get("/api/reactive/students/{enrollmentId}", "12")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.enrollmentId").exists())
+					.andExpect(status().isBadRequest());
+		Mockito.verifyNoInteractions(service);
+	}
+}
@@ -0,0 +1,84 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+
+import com.forleven.backenddevelopertest.dao.ReactiveStudentRepository;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.service.ReactiveStudentService;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import reactor.test.StepVerifier;
+
+class ReactiveStudentServiceTests {
+	private DatabaseClient databaseClient;
+	
+	private ReactiveStudentService service;
+	
+	@BeforeEach
+	public void init() {
+		databaseClient = DatabaseClient.create(H2ConnectionFactory.inMemory("reactive-students"));
+		execute("create table student (id int primary key, first_name varchar(128) not null, last_name varchar(128) not null, enrollment_id varchar(128) not null, "
+				+ "times_updated int not null default 0, last_modification datetime default now(), created_at datetime default now())");
+		execute("create table phone (id int primary key, phone_number varchar(128), phone_type varchar(128), times_updated int not null default 0, student_id int not null, "
+				+ "last_modification datetime default now(), created_at datetime default now())");
+		execute("insert into student (id, first_name, last_name, enrollment_id, times_updated) values (1, 'João', 'Silva', '202012345', 2), (2, 'Maria', 'Silva', '202012346', 0), (3, 'Joaquim', 'Silva', '202012347', 0)");
+		execute("insert into phone (id, phone_number, phone_type, student_id) values (11, '91234-5678', 'Mobile', 2), (12, '1234-5678', 'Home', 2), (13, '8765-4321', 'Work', 3)");
+		
+		ServiceProperties props = new ServiceProperties();
+		props.setEntityName("student");
+		props.setMsgEnrollmentId("Student with Enrollment ID");
+		service = new ReactiveStudentService(new ReactiveStudentRepository(databaseClient, "America/Sao_Paulo"), props);
+	}
+	
+	@AfterEach
+	public void destroy() {
+		execute("drop table phone");
+		execute("drop table student");
+	}
+	
+	@Test
+	void findAllStudentsTest() {
+		StepVerifier.create(service.findAll())
+				.assertNext(student -> {
+					assertEquals("202012345", student.getEnrollmentId());
+					assertEquals(2, student.getVersion());
+					assertEquals(0, student.getPhones().size());
+				})
+				.assertNext(student -> {
+					assertEquals("202012346", student.getEnrollmentId());
+					assertEquals(2, student.getPhones().size());
+				})
+				.assertNext(student -> assertEquals(1, student.getPhones().size()))
+				.verifyComplete();
+	}
+	
+	@Test
+	void findStudentTest() {
+		StepVerifier.create(service.find("202012346"))
+				.assertNext(student -> {
+					assertEquals(2, student.getId());
+					assertEquals("Maria", student.getFirstName());
+					assertEquals(2, student.getPhones().size());
+					assertEquals(student, student.getPhones().get(0).getStudent());
+				})
+				.verifyComplete();
+	}
+	
+	@Test
+	void findStudent_NotFoundTest() {
+		StepVerifier.create(service.find("302012346"))
+				.expectErrorMatches(exc -> exc instanceof RequirementViolationException && ((RequirementViolationException) exc).isRequirementViolated(ExistsContext.NOT_FOUND.label))
+				.verify();
+	}
+	
+	private void execute(String sql) {
+		databaseClient.execute(sql).then().block();
+	}
+}
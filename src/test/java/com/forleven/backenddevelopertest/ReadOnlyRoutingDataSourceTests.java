@@ -0,0 +1,91 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forleven.backenddevelopertest.config.PrimaryRouting;
+import com.forleven.backenddevelopertest.config.ReadOnlyRoutingDataSource;
+
+class ReadOnlyRoutingDataSourceTests {
+	private EmbeddedDatabase primary;
+	private EmbeddedDatabase replica;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	public void init() {
+		primary = database("primary");
+		replica = database("replica");
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	@AfterEach
+	public void shutdown() {
+		primary.shutdown();
+		replica.shutdown();
+	}
+
+	@Test
+	void readOnlyTransactionUsesReplicaTest() {
+		transactionTemplate.setReadOnly(true);
+
+		assertEquals("replica", transactionTemplate.execute(status -> origin()));
+	}
+
+	@Test
+	void pinnedReadOnlyTransactionUsesPrimaryTest() {
+		transactionTemplate.setReadOnly(true);
+
+		assertEquals("primary", PrimaryRouting.call(() -> transactionTemplate.execute(status -> origin())));
+		assertEquals("replica", transactionTemplate.execute(status -> origin()));
+	}
+
+	@Test
+	void pinTakenInsideReadOnlyTransactionUsesPrimaryTest() {
+		transactionTemplate.setReadOnly(true);
+
+		assertEquals("primary", transactionTemplate.execute(status -> PrimaryRouting.call(this::origin)));
+	}
+
+	@Test
+	void readWriteTransactionUsesPrimaryTest() {
+		assertEquals("primary", transactionTemplate.execute(status -> origin()));
+	}
+
+	@Test
+	void nonTransactionalAccessUsesPrimaryTest() {
+		assertEquals("primary", origin());
+	}
+
+	@Test
+	void writesInReadWriteTransactionReachPrimaryOnlyTest() {
+		transactionTemplate.execute(status -> jdbcTemplate.update("INSERT INTO origin (name) VALUES ('written')"));
+
+		assertEquals(2, new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM origin", Integer.class));
+		assertEquals(1, new JdbcTemplate(replica).queryForObject("SELECT COUNT(*) FROM origin", Integer.class));
+	}
+
+	private String origin() {
+		return jdbcTemplate.queryForObject("SELECT name FROM origin ORDER BY name LIMIT 1", String.class);
+	}
+
+	private static EmbeddedDatabase database(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).setName(name).build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(32))");
+		jdbcTemplate.update("INSERT INTO origin (name) VALUES (?)", name);
+		return database;
+	}
+}
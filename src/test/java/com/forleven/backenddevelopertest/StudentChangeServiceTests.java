@@ -0,0 +1,129 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+import com.forleven.backenddevelopertest.service.ChangeCursor;
+import com.forleven.backenddevelopertest.service.StudentChangeService;
+import com.forleven.backenddevelopertest.service.StudentChanges;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+@DataJpaTest
+@Import({StudentChangeService.class, ServiceProperties.class})
+@EnableConfigurationProperties
+class StudentChangeServiceTests {
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private StudentChangeService service;
+
+	@Autowired
+	@Qualifier("studentServiceProperties")
+	private ServiceProperties props;
+
+	private long safetyLagMillis;
+
+	private Student joao;
+
+	@BeforeEach
+	public void init() {
+		safetyLagMillis = props.changeFeedSafetyLagMillis();
+		props.setChangeFeedSafetyLagMillis(0);
+
+		// Maria Silva was deleted an hour ago, before João and José were registered
+		Instant deleted = Instant.now().minus(1, ChronoUnit.HOURS);
+		entityManager.persist(new StudentHistory(1, "Maria", "Silva", "202012341", 0, deleted, deleted, deleted, "delete"));
+		entityManager.persist(new StudentHistory(2, "Ana", "Souza", "202012342", 0, deleted, deleted, deleted, "update"));
+		joao = new Student("João", "Silva", "202012340");
+		joao.addPhone(new Phone("91234-5670", "Mobile").withStudent(joao));
+		entityManager.persist(joao);
+		entityManager.flush();
+		entityManager.persist(new Student("José", "Souza", "202012343"));
+		entityManager.flush();
+	}
+
+	@AfterEach
+	public void restore() {
+		props.setChangeFeedSafetyLagMillis(safetyLagMillis);
+	}
+
+	@Test
+	void findChangesInOrderTest() {
+		StudentChanges changes = service.findChanges(ChangeCursor.START, 10);
+
+		assertEquals(Arrays.asList("DELETED 202012341", "CREATED 202012340", "CREATED 202012343"), describe(changes));
+		assertEquals("91234-5670", changes.getChanges().get(1).getStudent().getPhones().get(0).getPhoneNumber());
+	}
+
+	@Test
+	void resumeFromCursorTest() {
+		StudentChanges first = service.findChanges(ChangeCursor.START, 2);
+		StudentChanges second = service.findChanges(ChangeCursor.parse(first.getNext().toString()), 2);
+		StudentChanges third = service.findChanges(second.getNext(), 2);
+
+		assertEquals(Arrays.asList("DELETED 202012341", "CREATED 202012340"), describe(first));
+		assertEquals(Arrays.asList("CREATED 202012343"), describe(second));
+		assertTrue(third.isEmpty());
+		assertEquals(second.getNext(), third.getNext());
+	}
+
+	@Test
+	void findUpdatedStudentAgainTest() {
+		ChangeCursor cursor = service.findChanges(ChangeCursor.START, 10).getNext();
+
+		joao = entityManager.find(Student.class, joao.getId());
+		joao.setFirstName("Joaquim");
+		entityManager.flush();
+
+		assertEquals(Arrays.asList("UPDATED 202012340"), describe(service.findChanges(cursor, 10)));
+	}
+
+	@Test
+	void skipChangesWithinSafetyLagTest() {
+		props.setChangeFeedSafetyLagMillis(ChronoUnit.MINUTES.getDuration().toMillis());
+
+		assertEquals(Arrays.asList("DELETED 202012341"), describe(service.findChanges(ChangeCursor.START, 10)));
+	}
+
+	@Test
+	void awaitChangesWithoutWaitTest() {
+		ChangeCursor cursor = service.findChanges(ChangeCursor.START, 10).getNext();
+
+		StudentChanges changes = service.awaitChanges(cursor, 10, 0).join();
+
+		assertTrue(changes.isEmpty());
+		assertEquals(cursor, changes.getNext());
+		assertEquals(3, service.awaitChanges(ChangeCursor.START, 10, 1000).join().getChanges().size());
+	}
+
+	@Test
+	void parseInvalidCursorTest() {
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.parse("42"));
+		assertThrows(IllegalArgumentException.class, () -> ChangeCursor.parse("a_0_0_0"));
+	}
+
+	private static List<String> describe(StudentChanges changes) {
+		return changes.getChanges().stream().map(change -> change.getType() + " " + change.getEnrollmentId()).collect(Collectors.toList());
+	}
+}
@@ -3,15 +3,20 @@ package com.forleven.backenddevelopertest;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -23,21 +28,38 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forleven.backenddevelopertest.cache.CachedResponse;
+import com.forleven.backenddevelopertest.cache.StudentResponseCache;
 import com.forleven.backenddevelopertest.controller.StudentController;
 import com.forleven.backenddevelopertest.domain.Phone;
 import com.forleven.backenddevelopertest.domain.Student;
-import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.exception.ExistsErrorBodies;
+import com.forleven.backenddevelopertest.service.NameCursor;
+import com.forleven.backenddevelopertest.service.ServiceResult;
 import com.forleven.backenddevelopertest.service.StudentService;
+import com.forleven.backenddevelopertest.util.EntityTags;
 import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
 
 @WebMvcTest(StudentController.class)
+@Import({ExistsErrorBodies.class, ServiceProperties.class})
 class StudentControllerTests {
 	@MockBean
 	private StudentService service;
+	
+	@MockBean
+	private StudentResponseCache responseCache;
 
 	@Autowired
 	private MockMvc mvc;
@@ -80,11 +102,132 @@ class StudentControllerTests {
 					.andExpect(status().isOk());
 	}
 	
+	@Test
+	void findAll_NotModifiedTest() throws Exception {
+		Mockito.when(service.findAllTag()).thenReturn("\"abc\"");
+		mvc.perform(get("/api/students")
+					.header(HttpHeaders.IF_NONE_MATCH, "\"abc\"")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+					.andExpect(content().string(""));
+		Mockito.verify(service, Mockito.never()).findAll();
+	}
+	
+	@Test
+	void findAll_ModifiedTest() throws Exception {
+		Mockito.when(service.findAllTag()).thenReturn("\"def\"");
+		Mockito.when(service.findAll()).thenReturn(students);
+		mvc.perform(get("/api/students")
+					.header(HttpHeaders.IF_NONE_MATCH, "\"abc\"")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(header().string(HttpHeaders.ETAG, "\"def\""))
+					.andExpect(jsonPath("$", hasSize(3)))
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void findPage_NotModifiedTest() throws Exception {
+		Mockito.when(service.findPageTag(0, 2)).thenReturn("\"abc\"");
+		mvc.perform(get("/api/students")
+					.param("limit", "2")
+					.header(HttpHeaders.IF_NONE_MATCH, "\"abc\"")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isNotModified())
+					.andExpect(content().string(""));
+		Mockito.verify(service, Mockito.never()).findAll(0, 2);
+	}
+	
+	@Test
+	void findPageTest() throws Exception {
+		Mockito.when(service.findAll(0, 2)).thenReturn(new SliceImpl<>(students.subList(0, 2), PageRequest.of(0, 2), true));
+		mvc.perform(get("/api/students")
+					.param("limit", "2")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.content", hasSize(2)))
+					.andExpect(jsonPath("$.next", is(String.valueOf(studentB.getId()))))
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void findPage_LastPageTest() throws Exception {
+		Mockito.when(service.findAll(studentB.getId(), 2)).thenReturn(new SliceImpl<>(students.subList(2, 3), PageRequest.of(0, 2), false));
+		mvc.perform(get("/api/students")
+					.param("after", String.valueOf(studentB.getId()))
+					.param("limit", "2")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.content", hasSize(1)))
+					.andExpect(jsonPath("$.next").doesNotExist())
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void findPage_InvalidLimitTest() throws Exception {
+		mvc.perform(get("/api/students")
+					.param("limit", "0")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	void searchStudentsTest() throws Exception {
+		Mockito.when(service.search("Jo", "Silva", true, null, 2)).thenReturn(new SliceImpl<>(students.subList(0, 2), PageRequest.of(0, 2), true));
+		mvc.perform(get("/api/students/search")
+					.param("firstName", "Jo")
+					.param("lastName", "Silva")
+					.param("prefix", "true")
+					.param("size", "2")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.content", hasSize(2)))
+					.andExpect(jsonPath("$.next", is(NameCursor.of(studentB).toString())))
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void searchStudents_NextPageTest() throws Exception {
+		Mockito.when(service.search(null, "Silva", false, NameCursor.of(studentB), 2)).thenReturn(new SliceImpl<>(students.subList(2, 3), PageRequest.of(0, 2), false));
+		mvc.perform(get("/api/students/search")
+					.param("lastName", "Silva")
+					.param("after", NameCursor.of(studentB).toString())
+					.param("size", "2")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.content", hasSize(1)))
+					.andExpect(jsonPath("$.next").doesNotExist())
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void searchStudents_InvalidCursorTest() throws Exception {
+		mvc.perform(get("/api/students/search")
+					.param("lastName", "Silva")
+					.param("after", "42")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	void exportStudentsTest() throws Exception {
+		Mockito.doAnswer(invocation -> {
+			Consumer<Student> action = invocation.getArgument(0);
+			students.forEach(action);
+			return null;
+		}).when(service).forEach(ArgumentMatchers.any());
+		MvcResult result = mvc.perform(get("/api/students/export"))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType("application/x-ndjson"))
+					.andReturn();
+		
+		String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(students.size(), lines.length);
+		assertEquals(studentC.getEnrollmentId(), new ObjectMapper().readTree(lines[2]).get("enrollmentId").asText());
+		assertEquals(studentC.getPhones().size(), new ObjectMapper().readTree(lines[2]).get("phones").size());
+	}
+	
 	@Test
 	void findStudentTest() throws Exception {
 		String enrollmentId = studentA.getEnrollmentId();
 		
-		Mockito.when(service.find(enrollmentId)).thenReturn(studentA);
+		Mockito.when(service.tryFind(enrollmentId)).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
 					.contentType(MediaType.APPLICATION_JSON))
 					.andExpect(jsonPath("$.enrollmentId", is(studentA.getEnrollmentId())))
@@ -93,6 +236,72 @@ class StudentControllerTests {
 					.andExpect(status().isOk());
 	}
 	
+	@Test
+	void findStudent_ETagTest() throws Exception {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(service.tryFindTag(enrollmentId)).thenReturn(ServiceResult.of(EntityTags.ofVersion(studentA.getId(), studentA.getVersion())));
+		Mockito.when(service.tryFind(enrollmentId)).thenReturn(ServiceResult.of(studentA));
+		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
+					.header(HttpHeaders.IF_NONE_MATCH, "\"def\"")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(header().string(HttpHeaders.ETAG, EntityTags.ofVersion(studentA.getId(), studentA.getVersion())))
+					.andExpect(jsonPath("$.enrollmentId", is(studentA.getEnrollmentId())))
+					.andExpect(status().isOk());
+	}
+	
+	@Test
+	void findStudent_NotModifiedTest() throws Exception {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(responseCache.getIfPresent(enrollmentId)).thenReturn(new CachedResponse(new byte[0], "\"abc\""));
+		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
+					.header(HttpHeaders.IF_NONE_MATCH, "\"abc\"")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isNotModified())
+					.andExpect(content().string(""));
+		Mockito.verifyNoInteractions(service);
+	}
+	
+	@Test
+	void findStudent_NotModifiedNotCachedTest() throws Exception {
+		String enrollmentId = studentA.getEnrollmentId();
+		String tag = EntityTags.ofVersion(studentA.getId(), studentA.getVersion());
+		
+		Mockito.when(service.tryFindTag(enrollmentId)).thenReturn(ServiceResult.of(tag));
+		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
+					.header(HttpHeaders.IF_NONE_MATCH, tag)
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, tag))
+					.andExpect(content().string(""));
+		Mockito.verify(service, Mockito.never()).tryFind(enrollmentId);
+	}
+	
+	@Test
+	void findStudent_CachedTest() throws Exception {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(responseCache.getIfPresent(enrollmentId)).thenReturn(new CachedResponse(asJsonString(StudentDTO.from(studentA)).getBytes(StandardCharsets.UTF_8), "\"abc\""));
+		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.enrollmentId", is(studentA.getEnrollmentId())))
+					.andExpect(status().isOk());
+		Mockito.verify(service, Mockito.never()).tryFind(enrollmentId);
+	}
+	
+	@Test
+	void findStudent_NotCachedTest() throws Exception {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(responseCache.generation(enrollmentId)).thenReturn(7L);
+		Mockito.when(service.tryFind(enrollmentId)).thenReturn(ServiceResult.of(studentA));
+		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk());
+		Mockito.verify(responseCache).put(ArgumentMatchers.eq(enrollmentId), ArgumentMatchers.any(CachedResponse.class), ArgumentMatchers.eq(7L));
+	}
+	
 	@Test
 	void findStudent_InvalidRequestNonNumericalTest() throws Exception {
 		mvc.perform(get("/api/students/{enrollmentId}", "-")
@@ -111,16 +320,16 @@ class StudentControllerTests {
 	void findStudent_NotFoundTest() throws Exception {
 		String enrollmentId = studentA.getEnrollmentId();
 		
-		Mockito.when(service.find(studentA.getEnrollmentId())).thenThrow(
-				new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID " + studentA.getEnrollmentId() + " " + ExistsContext.NOT_FOUND.message));
+		Mockito.when(service.tryFind(studentA.getEnrollmentId())).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, studentA.getEnrollmentId()));
 		mvc.perform(get("/api/students/{enrollmentId}", enrollmentId)
 				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.notFound.student[0]", is("Student with Enrollment ID " + enrollmentId + " does not exist")))
 				.andExpect(status().isNotFound());
 	}
 	
 	@Test
 	void addStudentTest() throws Exception {
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 					.content(asJsonString(studentA))
 					.contentType(MediaType.APPLICATION_JSON))
@@ -134,7 +343,7 @@ class StudentControllerTests {
 	void addStudent_MissingEnrollmentIdTest() throws Exception {
 		studentA.setEnrollmentId(null);
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -145,7 +354,7 @@ class StudentControllerTests {
 	void addStudent_MissingFirstNameTest() throws Exception {
 		studentA.setFirstName(null);
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -156,7 +365,7 @@ class StudentControllerTests {
 	void addStudent_MissingLastNameTest() throws Exception {
 		studentA.setLastName(null);
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -167,7 +376,7 @@ class StudentControllerTests {
 	void addStudent_BlankEnrollmentIdTest() throws Exception {
 		studentA.setEnrollmentId("");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -178,7 +387,7 @@ class StudentControllerTests {
 	void addStudent_BlankFirstNameTest() throws Exception {
 		studentA.setFirstName("");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -189,7 +398,7 @@ class StudentControllerTests {
 	void addStudent_BlankLastNameTest() throws Exception {
 		studentA.setLastName("");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -200,7 +409,7 @@ class StudentControllerTests {
 	void addStudent_TooShortEnrollmentIdTest() throws Exception {
 		studentA.setEnrollmentId("12");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -211,7 +420,7 @@ class StudentControllerTests {
 	void addStudent_TooShortFirstNameTest() throws Exception {
 		studentA.setFirstName("Zé");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -222,7 +431,7 @@ class StudentControllerTests {
 	void addStudent_TooShortLastNameTest() throws Exception {
 		studentA.setLastName("De");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -233,7 +442,7 @@ class StudentControllerTests {
 	void addStudent_NonNumericalEnrollmentIdTest() throws Exception {
 		studentA.setEnrollmentId("abcde");
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -244,7 +453,7 @@ class StudentControllerTests {
 	void addStudent_NonInsertedPhonesFieldTest() throws Exception {
 		studentA.setPhones(new ArrayList<>());
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -259,7 +468,7 @@ class StudentControllerTests {
 	void addStudent_NullPhonesFieldTest() throws Exception {
 		studentA.setPhones(null);
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentA);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentA));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -270,7 +479,7 @@ class StudentControllerTests {
 	void addStudent_WithPhonesTest() throws Exception {
 		Student studentWithPhones = studentC;
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentWithPhones);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentWithPhones));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentWithPhones))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -289,7 +498,7 @@ class StudentControllerTests {
 		student.addPhone(new Phone("91234-5678", "Home"));
 		student.addPhone(new Phone("91234-5678", "Home"));
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentWithSamePhone);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentWithSamePhone));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -306,7 +515,7 @@ class StudentControllerTests {
 		Student studentWithPhoneAdded = SerializationUtils.clone(student);
 		studentWithPhoneAdded.addPhone(new Phone("91234-5678", "Home"));
 		
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenReturn(studentWithPhoneAdded);
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.of(studentWithPhoneAdded));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentWithPhoneAdded))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -319,21 +528,41 @@ class StudentControllerTests {
 	
 	@Test
 	void addStudent_AlreadyExistsTest() throws Exception {
-		Mockito.when(service.save(ArgumentMatchers.any(Student.class))).thenThrow(
-				new RequirementViolationException(ExistsContext.ALREADY_EXISTS.label, "Student", "Student with Enrollment ID " + studentA.getEnrollmentId() + " " + ExistsContext.ALREADY_EXISTS.message));
+		Mockito.when(service.trySave(ArgumentMatchers.any(Student.class))).thenReturn(ServiceResult.failure(ExistsContext.ALREADY_EXISTS, studentA.getEnrollmentId()));
 		mvc.perform(post("/api/students")
 				.content(asJsonString(studentA))
 				.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isConflict());
 	}
 	
+	@Test
+	void addStudentsBatchTest() throws Exception {
+		studentB.setFirstName("");
+		
+		Mockito.when(service.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+			List<Student> toBeSaved = invocation.getArgument(0);
+			return toBeSaved.subList(0, 1);
+		});
+		mvc.perform(post("/api/students:batch")
+				.content(asJsonString(students))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$", hasSize(3)))
+				.andExpect(jsonPath("$[0].status", is("CREATED")))
+				.andExpect(jsonPath("$[0].student.enrollmentId", is(studentA.getEnrollmentId())))
+				.andExpect(jsonPath("$[1].status", is("INVALID")))
+				.andExpect(jsonPath("$[1].errors.firstName", hasSize(2)))
+				.andExpect(jsonPath("$[2].status", is("ALREADY_EXISTS")))
+				.andExpect(jsonPath("$[2].enrollmentId", is(studentC.getEnrollmentId())))
+				.andExpect(status().isOk());
+	}
+	
 	@Test
 	void updateStudent_Test() throws Exception {
 		Student previousStudent = SerializationUtils.clone(studentA);
 		Student student = studentA;
 		student.setFirstName("José");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -351,7 +580,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setEnrollmentId(null);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -364,7 +593,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setFirstName(null);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -376,7 +605,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setLastName(null);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -388,7 +617,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setEnrollmentId("");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -401,7 +630,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setFirstName("");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -413,7 +642,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setLastName("");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -425,7 +654,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setFirstName("Zé");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -437,7 +666,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setLastName("De");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -449,7 +678,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setEnrollmentId("12");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -461,7 +690,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setEnrollmentId("abcde");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students")
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -473,8 +702,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		student.setFirstName("José");
 
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class))).thenThrow(
-				new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID " + student.getEnrollmentId() + " " + ExistsContext.NOT_FOUND.message));
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(), ArgumentMatchers.isNull())).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, student.getEnrollmentId()));
 		mvc.perform(put("/api/students")
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -488,7 +716,7 @@ class StudentControllerTests {
 		student.setFirstName("José");
 		String enrollmentId = previousStudent.getEnrollmentId();
 	
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -501,6 +729,48 @@ class StudentControllerTests {
 				.andExpect(status().isOk());
 	}
 
+	@Test
+	void updateStudentParam_IfMatchTest() throws Exception {
+		Student student = studentA;
+		student.setVersion(4);
+		String enrollmentId = student.getEnrollmentId();
+		
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.eq(enrollmentId), ArgumentMatchers.eq("\"1.3\""))).thenReturn(ServiceResult.of(student));
+		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
+				.header(HttpHeaders.IF_MATCH, "\"1.3\"")
+				.content(asJsonString(student))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1.4\""))
+				.andExpect(status().isOk());
+	}
+	
+	@Test
+	void updateStudentParam_PreconditionFailedTest() throws Exception {
+		Student student = studentA;
+		String enrollmentId = student.getEnrollmentId();
+		
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.eq(enrollmentId), ArgumentMatchers.eq("\"1.3\""))).thenReturn(ServiceResult.failure(ExistsContext.PRECONDITION_FAILED, enrollmentId));
+		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
+				.header(HttpHeaders.IF_MATCH, "\"1.3\"")
+				.content(asJsonString(student))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isPreconditionFailed());
+	}
+	
+	@Test
+	void updateStudentParam_ConcurrentlyModifiedTest() throws Exception {
+		Student student = studentA;
+		String enrollmentId = student.getEnrollmentId();
+		
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.eq(enrollmentId), ArgumentMatchers.isNull())).thenThrow(
+				new ObjectOptimisticLockingFailureException(Student.class, student.getId()));
+		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
+				.content(asJsonString(student))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.preconditionFailed.student", hasSize(1)))
+				.andExpect(status().isPreconditionFailed());
+	}
+
 	@Test
 	void updateStudentParam_ChangeEnrollmentIdTest() throws Exception {
 		Student previousStudent = SerializationUtils.clone(studentA);
@@ -509,7 +779,7 @@ class StudentControllerTests {
 		String newEnrollmentId = "202012348";
 		student.setEnrollmentId(newEnrollmentId);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", currEnrollmentId)
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -528,8 +798,7 @@ class StudentControllerTests {
 		String newEnrollmentId = "202012348";
 		student.setEnrollmentId(newEnrollmentId);
 
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenThrow(
-				new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID " + currEnrollmentId + " " + ExistsContext.NOT_FOUND.message));
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, currEnrollmentId));
 		mvc.perform(put("/api/students/{enrollmentId}", currEnrollmentId)
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -543,7 +812,7 @@ class StudentControllerTests {
 		Student studentMissingEnrollmentId = studentA;
 		studentMissingEnrollmentId.setEnrollmentId(null);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(studentWithEnrollmentId);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(studentWithEnrollmentId));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 				.content(asJsonString(studentMissingEnrollmentId))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -557,7 +826,7 @@ class StudentControllerTests {
 		String enrollmentId = student.getEnrollmentId();
 		student.setFirstName(null);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -570,7 +839,7 @@ class StudentControllerTests {
 		String enrollmentId = student.getEnrollmentId();
 		student.setLastName(null);
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -584,7 +853,7 @@ class StudentControllerTests {
 		String newEnrollmentId = "";
 		student.setEnrollmentId(newEnrollmentId);
 
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", currEnrollmentId)
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -597,7 +866,7 @@ class StudentControllerTests {
 		String enrollmentId = student.getEnrollmentId();
 		student.setFirstName("");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -610,7 +879,7 @@ class StudentControllerTests {
 		String enrollmentId = student.getEnrollmentId();
 		student.setLastName("");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -624,7 +893,7 @@ class StudentControllerTests {
 		String newEnrollmentId = "12";
 		student.setEnrollmentId(newEnrollmentId);
 
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", currEnrollmentId)
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -637,7 +906,7 @@ class StudentControllerTests {
 		String enrollmentId = student.getEnrollmentId();
 		student.setFirstName("Zé");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -650,7 +919,7 @@ class StudentControllerTests {
 		String enrollmentId = student.getEnrollmentId();
 		student.setLastName("De");
 		
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", enrollmentId)
 			.content(asJsonString(student))
 			.contentType(MediaType.APPLICATION_JSON))
@@ -664,7 +933,7 @@ class StudentControllerTests {
 		String newEnrollmentId = "abcde";
 		student.setEnrollmentId(newEnrollmentId);
 
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenReturn(student);
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.of(student));
 		mvc.perform(put("/api/students/{enrollmentId}", currEnrollmentId)
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -695,8 +964,7 @@ class StudentControllerTests {
 	void updateStudentParam_NotFoundTest() throws Exception {
 		Student student = studentA;
 		student.setFirstName("José");
-		Mockito.when(service.update(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class))).thenThrow(
-				new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID " + student.getEnrollmentId() + " " + ExistsContext.NOT_FOUND.message));
+		Mockito.when(service.tryUpdate(ArgumentMatchers.any(Student.class), ArgumentMatchers.any(String.class), ArgumentMatchers.isNull())).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, student.getEnrollmentId()));
 		mvc.perform(put("/api/students/{enrollmentId}", student.getEnrollmentId())
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -708,12 +976,23 @@ class StudentControllerTests {
 		Student student = studentA;
 		String enrollmentId = student.getEnrollmentId();
 		
-		Mockito.when(service.delete(enrollmentId)).thenReturn(true);
+		Mockito.when(service.tryDelete(enrollmentId, null)).thenReturn(ServiceResult.of(3));
 		mvc.perform(delete("/api/students/{enrollmentId}", enrollmentId)
 				.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isNoContent());
 	}
 
+	@Test
+	void deleteStudent_PreconditionFailedTest() throws Exception {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(service.tryDelete(enrollmentId, "\"1.3\"")).thenReturn(ServiceResult.failure(ExistsContext.PRECONDITION_FAILED, enrollmentId));
+		mvc.perform(delete("/api/students/{enrollmentId}", enrollmentId)
+				.header(HttpHeaders.IF_MATCH, "\"1.3\"")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isPreconditionFailed());
+	}
+
 	@Test
 	void deleteStudent_InvalidRequestNonNumericalTest() throws Exception {
 		Student student = studentA;
@@ -739,8 +1018,7 @@ class StudentControllerTests {
 		Student student = studentA;
 		String enrollmentId = student.getEnrollmentId();
 		
-		Mockito.when(service.delete(enrollmentId)).thenThrow(
-				new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID " + enrollmentId + " " + ExistsContext.NOT_FOUND.message));
+		Mockito.when(service.tryDelete(enrollmentId, null)).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId));
 		mvc.perform(delete("/api/students/{enrollmentId}", enrollmentId)
 				.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isNotFound());
@@ -750,7 +1028,7 @@ class StudentControllerTests {
 	void deleteStudentNoParamTest() throws Exception {
 		Student student = studentA;
 		
-		Mockito.when(service.delete(student)).thenReturn(true);
+		Mockito.when(service.tryDelete(student.getEnrollmentId(), null)).thenReturn(ServiceResult.of(3));
 		mvc.perform(delete("/api/students")
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
@@ -761,8 +1039,7 @@ class StudentControllerTests {
 	void deleteStudentNoParam_NotFoundTest() throws Exception {
 		Student student = studentA;
 		
-		Mockito.when(service.delete(student)).thenThrow(
-				new RequirementViolationException(ExistsContext.NOT_FOUND.label, "Student", "Student with Enrollment ID " + student.getEnrollmentId() + " " + ExistsContext.NOT_FOUND.message));
+		Mockito.when(service.tryDelete(student.getEnrollmentId(), null)).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, student.getEnrollmentId()));
 		mvc.perform(delete("/api/student")
 				.content(asJsonString(student))
 				.contentType(MediaType.APPLICATION_JSON))
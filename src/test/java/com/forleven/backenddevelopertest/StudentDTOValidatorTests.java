@@ -0,0 +1,101 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.forleven.backenddevelopertest.dto.PhoneDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.exception.FieldViolationException;
+import com.forleven.backenddevelopertest.validation.CreateValidate;
+import com.forleven.backenddevelopertest.validation.DeleteValidate;
+import com.forleven.backenddevelopertest.validation.StudentDTOValidator;
+import com.forleven.backenddevelopertest.validation.UpdateSpecValidate;
+import com.forleven.backenddevelopertest.validation.UpdateValidate;
+
+class StudentDTOValidatorTests {
+	private static final List<Class<?>> GROUPS = Arrays.asList(CreateValidate.class, UpdateSpecValidate.class, UpdateValidate.class, DeleteValidate.class);
+	
+	private static final String[] VALUES = {null, "", "  ", "\t\n", "12", "123", "12a", "abc", "João", "١٢٣", "123\n", "123456789012345678901", "1".repeat(128), "1".repeat(129)};
+	
+	private Validator validator;
+	
+	@BeforeEach
+	public void init() {
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+	}
+	
+	private Map<String, TreeSet<String>> validateReflectively(Object target, Class<?> group) {
+		Map<String, TreeSet<String>> errors = new TreeMap<>();
+		validator.validate(target, group).forEach(violation -> 
+			errors.computeIfAbsent(String.valueOf(violation.getPropertyPath()), field -> new TreeSet<>()).add(violation.getMessage()));
+		return errors;
+	}
+	
+	@Test
+	void validate_StudentFieldsMatchBeanValidationTest() {
+		for (Class<?> group : GROUPS) {
+			for (String enrollmentId : VALUES) {
+				for (String name : VALUES) {
+					StudentDTO dto = new StudentDTO(name, name, enrollmentId);
+					assertEquals(validateReflectively(dto, group), StudentDTOValidator.validate(dto, group), group.getSimpleName() + " " + enrollmentId + " " + name);
+				}
+			}
+		}
+	}
+	
+	@Test
+	void validate_PhonesMatchBeanValidationTest() {
+		for (Class<?> group : GROUPS) {
+			for (String value : VALUES) {
+				StudentDTO dto = new StudentDTO("João", "Silva", "202012345");
+				dto.addPhone(new PhoneDTO("91234-5678", "Mobile"));
+				dto.addPhone(new PhoneDTO(value, value));
+				dto.getPhones().add(null);
+				assertEquals(validateReflectively(dto, group), StudentDTOValidator.validate(dto, group), group.getSimpleName() + " " + value);
+			}
+			StudentDTO dto = new StudentDTO("João", "Silva", "202012345", null);
+			assertEquals(validateReflectively(dto, group), StudentDTOValidator.validate(dto, group), group.getSimpleName());
+		}
+	}
+	
+	@Test
+	void validateEnrollmentId_MatchesPathVariableConstraintsTest() {
+		for (String enrollmentId : VALUES) {
+			if (enrollmentId == null) {
+				continue;
+			}
+			Map<String, TreeSet<String>> errors = new TreeMap<>();
+			validator.validateValue(EnrollmentIdParameter.class, "enrollmentId", enrollmentId).forEach(violation -> 
+				errors.computeIfAbsent(String.valueOf(violation.getPropertyPath()), field -> new TreeSet<>()).add(violation.getMessage()));
+			assertEquals(errors, StudentDTOValidator.validateEnrollmentId(enrollmentId), enrollmentId);
+		}
+	}
+	
+	@Test
+	void requireValid_ThrowsFieldViolationTest() {
+		FieldViolationException exc = assertThrows(FieldViolationException.class, () -> StudentDTOValidator.requireValid(new StudentDTO("Jo", "Silva", "202012345"), CreateValidate.class));
+		assertTrue(exc.getViolations().containsKey("firstName"));
+		StudentDTOValidator.requireValid(new StudentDTO("João", "Silva", "202012345"), CreateValidate.class);
+	}
+	
+	static class EnrollmentIdParameter {
+		@Pattern(regexp="^[0-9]+$", message="The enrollment ID must be composed of numerical digits only")
+		@Size(min=3, message="The enrollment ID must have a size of at least 3 characters")
+		String enrollmentId;
+	}
+}
@@ -0,0 +1,125 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.PhoneHistory;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.domain.StudentHistory;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.service.StudentHistoryService;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+@DataJpaTest
+@Import({StudentHistoryService.class, ServiceProperties.class})
+@EnableConfigurationProperties
+class StudentHistoryServiceTests {
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private StudentHistoryService service;
+
+	private Student student;
+
+	private Phone phone;
+
+	private Instant created;
+
+	private Instant updated;
+
+	private Instant deleted;
+
+	@BeforeEach
+	public void init() {
+		student = new Student("José", "Souza", "202012340");
+		phone = student.addPhone(new Phone("91234-5670", "Mobile").withStudent(student));
+		entityManager.persist(student);
+		entityManager.flush();
+		created = student.getCreatedAt();
+		updated = created.plus(1, ChronoUnit.HOURS);
+		deleted = created.plus(2, ChronoUnit.HOURS);
+
+		// João Silva was renamed an hour after being registered, when his home phone was removed
+		entityManager.persist(new StudentHistory(student.getId(), "João", "Silva", "202012340", 0, created, created, updated, "update"));
+		entityManager.persist(new PhoneHistory(phone.getId() + 1, student.getId(), "1234-5670", "Home", 0, created, created, updated, "delete"));
+		// Maria Silva was registered under 202012341 and deleted two hours later
+		entityManager.persist(new StudentHistory(student.getId() + 1, "Maria", "Silva", "202012341", 0, created, created, deleted, "delete"));
+		entityManager.persist(new PhoneHistory(phone.getId() + 2, student.getId() + 1, "91234-5671", "Mobile", 0, created, created, deleted, "delete"));
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void findStudentAsOfBeforeChangeTest() {
+		Student asOf = service.tryFindAsOf("202012340", created.plus(30, ChronoUnit.MINUTES)).get();
+
+		assertEquals("João", asOf.getFirstName());
+		assertEquals("Silva", asOf.getLastName());
+		assertEquals(Arrays.asList("91234-5670", "1234-5670"), phoneNumbers(asOf));
+	}
+
+	@Test
+	void findStudentAsOfAfterChangeTest() {
+		Student asOf = service.tryFindAsOf("202012340", deleted).get();
+
+		assertEquals("José", asOf.getFirstName());
+		assertEquals("Souza", asOf.getLastName());
+		assertEquals(Arrays.asList("91234-5670"), phoneNumbers(asOf));
+	}
+
+	@Test
+	void findDeletedStudentAsOfTest() {
+		Student asOf = service.tryFindAsOf("202012341", updated).get();
+
+		assertEquals("Maria", asOf.getFirstName());
+		assertEquals(Arrays.asList("91234-5671"), phoneNumbers(asOf));
+		assertEquals(ExistsContext.NOT_FOUND, service.tryFindAsOf("202012341", deleted.plus(1, ChronoUnit.SECONDS)).getFailure());
+	}
+
+	@Test
+	void findStudentAsOf_NotRegisteredYetTest() {
+		ServiceResult<Student> asOf = service.tryFindAsOf("202012340", created.minus(1, ChronoUnit.HOURS));
+
+		assertFalse(asOf.isSuccess());
+		assertEquals(ExistsContext.NOT_FOUND, asOf.getFailure());
+	}
+
+	@Test
+	void findStudentAsOf_NotFoundTest() {
+		assertEquals(ExistsContext.NOT_FOUND, service.tryFindAsOf("302012340", updated).getFailure());
+	}
+
+	@Test
+	void findStudentHistoryTest() {
+		Slice<StudentHistory> history = service.tryFindHistory("202012340", 0, 20).get();
+
+		assertEquals(1, history.getNumberOfElements());
+		assertEquals("João", history.getContent().get(0).getFirstName());
+		assertFalse(history.hasNext());
+		assertTrue(service.tryFindHistory("202012341", 0, 20).isSuccess());
+		assertFalse(service.tryFindHistory("302012340", 0, 20).isSuccess());
+	}
+
+	private static List<String> phoneNumbers(Student student) {
+		return student.getPhones().stream().map(Phone::getPhoneNumber).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,223 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.BatchItemResultDTO;
+import com.forleven.backenddevelopertest.exception.ImportRejectedException;
+import com.forleven.backenddevelopertest.importer.StudentImportJob;
+import com.forleven.backenddevelopertest.importer.StudentImportService;
+import com.forleven.backenddevelopertest.service.IStudentService;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+class StudentImportServiceTests {
+	private static final int CHUNK_SIZE = 2;
+	private static final int MAX_FILE_BYTES = 1024;
+
+	private IStudentService studentService;
+	private StudentImportService importService;
+
+	@BeforeEach
+	public void init() {
+		studentService = Mockito.mock(IStudentService.class);
+		// 202012342 is already registered
+		Mockito.when(studentService.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> ((List<Student>) invocation.getArgument(0)).stream()
+				.filter(student -> !"202012342".equals(student.getEnrollmentId())).collect(Collectors.toList()));
+
+		ServiceProperties props = new ServiceProperties();
+		props.setImportChunkSize(CHUNK_SIZE);
+		props.setImportMaxReportedErrors(10);
+		props.setImportConcurrentJobs(1);
+		props.setImportJobRetentionSeconds(60);
+		props.setImportQueueCapacity(1);
+		props.setImportMaxFileBytes(MAX_FILE_BYTES);
+		importService = new StudentImportService(studentService, props);
+	}
+
+	@AfterEach
+	public void shutdown() {
+		importService.shutdown();
+	}
+
+	@Test
+	void importStudentsInChunksTest() throws Exception {
+		StudentImportJob job = importCsv("LastName,firstName,enrollmentId,phones\n"
+				+ "Silva,João,202012340,91234-5670:Mobile;1234-5670:Home\n"
+				+ "Silva,Maria,202012341,\n"
+				+ "Souza,José,202012342,\n"
+				+ "Souza,Ana,202012343,91234-5673:Mobile\n"
+				+ "Souza,Jo,202012344,\n");
+
+		assertEquals(StudentImportJob.Status.COMPLETED, job.getStatus());
+		assertEquals(5, job.getRowsRead());
+		assertEquals(3, job.getCreated());
+		assertEquals(1, job.getAlreadyExists());
+		assertEquals(1, job.getInvalid());
+		assertEquals(100.0, job.getProgress());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Student>> chunks = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(studentService, Mockito.times(2)).saveAll(chunks.capture());
+		assertEquals(Arrays.asList(2, 2), chunks.getAllValues().stream().map(List::size).collect(Collectors.toList()));
+		Student joao = chunks.getAllValues().get(0).get(0);
+		assertEquals("João", joao.getFirstName());
+		assertEquals(Arrays.asList("Mobile", "Home"), joao.getPhones().stream().map(phone -> phone.getPhoneType()).collect(Collectors.toList()));
+	}
+
+	@Test
+	void reportRowErrorsTest() throws Exception {
+		StudentImportJob job = importCsv("enrollmentId,firstName,lastName\n"
+				+ "202012342,José,Souza\n"
+				+ "20201234A,Maria,Silva\n");
+
+		List<BatchItemResultDTO> errors = job.getErrors();
+		assertEquals(2, errors.size());
+		assertTrue(errors.stream().anyMatch(error -> error.getIndex() == 0 && error.getStatus() == BatchItemResultDTO.Status.ALREADY_EXISTS));
+		assertTrue(errors.stream().anyMatch(error -> error.getIndex() == 1 && error.getStatus() == BatchItemResultDTO.Status.INVALID
+				&& error.getErrors().containsKey("enrollmentId")));
+	}
+
+	@Test
+	void failOnMissingColumnsTest() throws Exception {
+		StudentImportJob job = importCsv("enrollmentId,name\n202012340,João Silva\n");
+
+		assertEquals(StudentImportJob.Status.FAILED, job.getStatus());
+		assertTrue(job.getMessage().contains("firstName, lastName"));
+		Mockito.verify(studentService, Mockito.never()).saveAll(ArgumentMatchers.anyList());
+	}
+
+	@Test
+	void findImportJobTest() throws Exception {
+		StudentImportJob job = importCsv("enrollmentId,firstName,lastName\n");
+
+		assertEquals(job, importService.find(job.getId()).get());
+		assertTrue(importService.find("unknown").isEmpty());
+	}
+
+	@Test
+	void saveRowByRowOnConflictTest() throws Exception {
+		// 202012341 was registered by another request after the chunk was checked
+		Mockito.when(studentService.saveAll(ArgumentMatchers.anyList())).thenThrow(new DataIntegrityViolationException("Duplicate entry '202012341'"));
+		Mockito.when(studentService.trySave(ArgumentMatchers.any(Student.class))).thenAnswer(invocation -> {
+			Student student = invocation.getArgument(0);
+			return "202012341".equals(student.getEnrollmentId()) ? ServiceResult.failure(ExistsContext.ALREADY_EXISTS, student.getEnrollmentId()) : ServiceResult.of(student);
+		});
+
+		StudentImportJob job = importCsv("enrollmentId,firstName,lastName\n"
+				+ "202012340,João,Silva\n"
+				+ "202012341,Maria,Silva\n"
+				+ "202012343,Ana,Souza\n");
+
+		assertEquals(StudentImportJob.Status.COMPLETED, job.getStatus());
+		assertEquals(2, job.getCreated());
+		assertEquals(1, job.getAlreadyExists());
+		List<BatchItemResultDTO> errors = job.getErrors();
+		assertEquals(1, errors.size());
+		assertEquals(1, errors.get(0).getIndex());
+		assertEquals(BatchItemResultDTO.Status.ALREADY_EXISTS, errors.get(0).getStatus());
+		Mockito.verify(studentService, Mockito.times(2)).saveAll(ArgumentMatchers.anyList());
+		Mockito.verify(studentService, Mockito.times(3)).trySave(ArgumentMatchers.any(Student.class));
+	}
+
+	@Test
+	void rejectRowBreakingConstraintTest() throws Exception {
+		// 202012341 breaks a constraint the validation does not cover
+		Mockito.when(studentService.saveAll(ArgumentMatchers.anyList())).thenThrow(new DataIntegrityViolationException("Data too long for column 'first_name'"));
+		Mockito.when(studentService.trySave(ArgumentMatchers.any(Student.class))).thenAnswer(invocation -> {
+			Student student = invocation.getArgument(0);
+			if ("202012341".equals(student.getEnrollmentId())) {
+				throw new DataIntegrityViolationException("Data too long for column 'first_name'");
+			}
+			return ServiceResult.of(student);
+		});
+
+		StudentImportJob job = importCsv("enrollmentId,firstName,lastName\n"
+				+ "202012340,João,Silva\n"
+				+ "202012341,Maria,Silva\n"
+				+ "202012343,Ana,Souza\n");
+
+		assertEquals(StudentImportJob.Status.COMPLETED, job.getStatus());
+		assertEquals(2, job.getCreated());
+		assertEquals(0, job.getAlreadyExists());
+		assertEquals(1, job.getInvalid());
+		List<BatchItemResultDTO> errors = job.getErrors();
+		assertEquals(1, errors.size());
+		assertEquals(1, errors.get(0).getIndex());
+		assertEquals(BatchItemResultDTO.Status.INVALID, errors.get(0).getStatus());
+		assertTrue(errors.get(0).getErrors().containsKey("student"));
+	}
+
+	@Test
+	void rejectFileOverLimitTest() throws Exception {
+		StringBuilder csv = new StringBuilder("enrollmentId,firstName,lastName\n");
+		for (int i = 0; csv.length() <= MAX_FILE_BYTES; i++) {
+			csv.append(202000000 + i).append(",João,Silva\n");
+		}
+
+		ImportRejectedException e = assertThrows(ImportRejectedException.class,
+				() -> importService.start(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8))));
+
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatus());
+		Mockito.verify(studentService, Mockito.never()).saveAll(ArgumentMatchers.anyList());
+	}
+
+	@Test
+	void rejectImportWhenQueueIsFullTest() throws Exception {
+		CountDownLatch saving = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(studentService.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+			saving.countDown();
+			release.await(10, TimeUnit.SECONDS);
+			return invocation.getArgument(0);
+		});
+		String csv = "enrollmentId,firstName,lastName\n202012340,João,Silva\n";
+
+		try {
+			StudentImportJob running = start(csv);
+			assertTrue(saving.await(10, TimeUnit.SECONDS));
+			StudentImportJob queued = start(csv);
+
+			ImportRejectedException e = assertThrows(ImportRejectedException.class, () -> start(csv));
+
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+			assertEquals(StudentImportJob.Status.QUEUED, importService.find(queued.getId()).get().getStatus());
+			release.countDown();
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+			assertTrue(queued.await(10, TimeUnit.SECONDS));
+			assertEquals(queued, importService.find(queued.getId()).get());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private StudentImportJob start(String csv) throws Exception {
+		return importService.start(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private StudentImportJob importCsv(String csv) throws Exception {
+		StudentImportJob job = start(csv);
+		assertTrue(job.await(10, TimeUnit.SECONDS));
+		return job;
+	}
+}
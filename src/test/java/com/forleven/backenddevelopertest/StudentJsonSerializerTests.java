@@ -0,0 +1,43 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.dto.StudentJsonSerializer;
+
+class StudentJsonSerializerTests {
+	private ObjectMapper objectMapper;
+	
+	@BeforeEach
+	public void init() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().serializerByType(Student.class, new StudentJsonSerializer()).build();
+	}
+	
+	@Test
+	void serialize_MatchesStudentDTOTest() throws JsonProcessingException {
+		Instant now = Instant.now();
+		Student student = new Student(1, "João", "Silva", "202012345");
+		student.addPhone(new Phone(12, "8765-4321", "Work", now, now));
+		student.addPhone(new Phone(10, "91234-5678", "Mobile", now, now));
+		student.addPhone(new Phone(11, "1234-5678", "Home", now, now));
+		
+		assertEquals(objectMapper.writeValueAsString(StudentDTO.from(student)), objectMapper.writeValueAsString(student));
+	}
+	
+	@Test
+	void serialize_WithoutPhonesTest() throws JsonProcessingException {
+		Student student = new Student(1, "João", "Silva", "202012345");
+		
+		assertEquals(objectMapper.writeValueAsString(StudentDTO.from(student)), objectMapper.writeValueAsString(student));
+	}
+}
@@ -0,0 +1,72 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.metrics.StudentServiceMetricsAspect;
+import com.forleven.backenddevelopertest.service.IStudentService;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudentServiceMetricsAspectTests {
+	private MeterRegistry meterRegistry;
+	
+	private IStudentService target;
+	
+	private IStudentService service;
+	
+	@BeforeEach
+	public void init() {
+		meterRegistry = new SimpleMeterRegistry();
+		target = Mockito.mock(IStudentService.class);
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.addAspect(new StudentServiceMetricsAspect(meterRegistry));
+		service = factory.getProxy();
+	}
+	
+	@Test
+	void findStudent_SuccessTest() throws RequirementViolationException {
+		Mockito.when(target.find("202012345")).thenReturn(new Student(1, "João", "Silva", "202012345"));
+		service.find("202012345");
+		
+		assertEquals(1, meterRegistry.get("student.service").tags("method", "find", "outcome", StudentServiceMetricsAspect.OUTCOME_SUCCESS).timer().count());
+		assertEquals(0, meterRegistry.find("student.service.errors").counters().size());
+	}
+	
+	@Test
+	void findStudent_NotFoundTest() throws RequirementViolationException {
+		Mockito.when(target.find("202012345")).thenThrow(new RequirementViolationException(ExistsContext.NOT_FOUND.label, "enrollmentId", "does not exist"));
+		assertThrows(RequirementViolationException.class, () -> service.find("202012345"));
+		
+		assertEquals(1, meterRegistry.get("student.service").tags("method", "find", "outcome", ExistsContext.NOT_FOUND.label).timer().count());
+		assertEquals(1.0, meterRegistry.get("student.service.errors").tags("method", "find", "outcome", ExistsContext.NOT_FOUND.label).counter().count());
+	}
+	
+	@Test
+	void tryFindStudent_NotFoundTest() {
+		Mockito.when(target.tryFind("202012345")).thenReturn(ServiceResult.failure(ExistsContext.NOT_FOUND, "202012345"));
+		service.tryFind("202012345");
+		
+		assertEquals(1, meterRegistry.get("student.service").tags("method", "tryFind", "outcome", ExistsContext.NOT_FOUND.label).timer().count());
+		assertEquals(1.0, meterRegistry.get("student.service.errors").tags("method", "tryFind", "outcome", ExistsContext.NOT_FOUND.label).counter().count());
+	}
+	
+	@Test
+	void saveStudent_ErrorTest() throws RequirementViolationException {
+		Student student = new Student("João", "Silva", "202012345");
+		Mockito.when(target.save(student)).thenThrow(new IllegalStateException());
+		assertThrows(IllegalStateException.class, () -> service.save(student));
+		
+		assertEquals(1.0, meterRegistry.get("student.service.errors").tags("method", "save", "outcome", StudentServiceMetricsAspect.OUTCOME_ERROR).counter().count());
+	}
+}
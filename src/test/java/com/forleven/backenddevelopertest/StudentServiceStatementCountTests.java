@@ -0,0 +1,318 @@
+package com.forleven.backenddevelopertest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import com.forleven.backenddevelopertest.cache.EnrollmentIdFilter;
+import com.forleven.backenddevelopertest.cache.StudentResponseCache;
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.service.NameCursor;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.service.StudentService;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+@DataJpaTest(properties={"spring.jpa.properties.hibernate.generate_statistics=true", "spring.jpa.properties.hibernate.jdbc.batch_size=50", "student.service.enrollmentFilterEnabled=true"})
+@Import({StudentService.class, StudentResponseCache.class, EnrollmentIdFilter.class, ServiceProperties.class})
+@EnableConfigurationProperties
+class StudentServiceStatementCountTests {
+	private static final int STUDENTS = 5;
+	
+	@Autowired
+	private TestEntityManager entityManager;
+	
+	@Autowired
+	private StudentService service;
+	
+	@Autowired
+	private EnrollmentIdFilter enrollmentIdFilter;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	public void init() {
+		for (int i = 0; i < STUDENTS; i++) {
+			Student student = new Student("João", "Silva", "20201234" + i);
+			student.addPhone(new Phone("91234-567" + i, "Mobile").withStudent(student));
+			student.addPhone(new Phone("1234-567" + i, "Home").withStudent(student));
+			entityManager.persist(student);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		
+		statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	@Test
+	void findAllStudentsStatementCountTest() {
+		List<Student> students = service.findAll();
+		
+		assertEquals(STUDENTS, students.size());
+		students.forEach(student -> assertEquals(2, student.getPhones().size()));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void forEachStudentStatementCountTest() {
+		List<Student> students = new ArrayList<>();
+		
+		// Streams the export query on the embedded database, with the fetch size it gets outside MySQL
+		service.forEach(students::add);
+		
+		assertEquals(IntStream.range(0, STUDENTS).mapToObj(i -> "20201234" + i).collect(Collectors.toList()),
+				students.stream().map(Student::getEnrollmentId).collect(Collectors.toList()));
+		students.forEach(student -> assertEquals(2, student.getPhones().size()));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void findStudentsPageStatementCountTest() {
+		Slice<Student> students = service.findAll(0, 3);
+		
+		assertEquals(3, students.getNumberOfElements());
+		students.forEach(student -> assertEquals(2, student.getPhones().size()));
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void searchStudentsStatementCountTest() {
+		Slice<Student> students = service.search(null, "Sil", true, null, 3);
+		
+		assertEquals(3, students.getNumberOfElements());
+		assertTrue(students.hasNext());
+		students.forEach(student -> assertEquals(2, student.getPhones().size()));
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, service.search(null, "Sil", false, null, 3).getNumberOfElements());
+		assertEquals(0, service.search(null, "Sil_", true, null, 3).getNumberOfElements());
+		assertEquals(STUDENTS, service.search("João", "Silva", false, null, 10).getNumberOfElements());
+	}
+	
+	@Test
+	void searchStudents_KeysetTest() {
+		entityManager.persist(new Student("Ana", "Silva", "202012350"));
+		entityManager.persist(new Student("Pedro", "Souza", "202012351"));
+		entityManager.flush();
+		
+		List<String> enrollmentIds = new ArrayList<>();
+		NameCursor after = null;
+		Slice<Student> students;
+		do {
+			students = service.search(null, null, false, after, 2);
+			students.forEach(student -> enrollmentIds.add(student.getEnrollmentId()));
+			after = students.hasContent() ? NameCursor.of(students.getContent().get(students.getNumberOfElements() - 1)) : null;
+		} while (students.hasNext());
+		
+		// Silva, Ana first, then the João Silvas by id, then Souza
+		assertEquals(Arrays.asList("202012350", "202012340", "202012341", "202012342", "202012343", "202012344", "202012351"), enrollmentIds);
+	}
+	
+	@Test
+	void saveStudentStatementCountTest() throws RequirementViolationException {
+		Student student = new Student("Maria", "Silva", "302012340");
+		student.addPhone(new Phone("91234-5678", "Mobile"));
+		
+		service.save(student);
+		entityManager.flush();
+		
+		// Joining the test transaction, it checks the enrollment ID before inserting the student and its phone
+		assertEquals(2, statistics.getEntityInsertCount());
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void saveStudent_AlreadyExistsStatementCountTest() {
+		Student student = new Student("Maria", "Silva", "202012340");
+		
+		assertThrows(RequirementViolationException.class, () -> service.save(student));
+		assertEquals(0, statistics.getEntityInsertCount());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void trySaveStudent_JoinedTransactionTest() {
+		ServiceResult<Student> result = service.trySave(new Student("Maria", "Silva", "202012340"));
+		
+		// Insert-first would have marked the caller's transaction for rollback on the duplicate
+		assertEquals(ExistsContext.ALREADY_EXISTS, result.getFailure());
+		assertFalse(TestTransaction.isFlaggedForRollback());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void saveAllStudentsStatementCountTest() {
+		List<Student> students = IntStream.range(0, 3).mapToObj(i -> {
+			Student student = new Student("Maria", "Silva", "30201234" + i);
+			student.addPhone(new Phone("91234-567" + i, "Mobile"));
+			student.addPhone(new Phone("1234-567" + i, "Home"));
+			return student;
+		}).collect(Collectors.toList());
+		students.add(new Student("João", "Silva", "202012340"));
+		
+		assertEquals(3, service.saveAll(students).size());
+		entityManager.flush();
+		
+		// The existence check, then one batch of students and one of phones; the ids come from the block reserved in init
+		assertEquals(9, statistics.getEntityInsertCount());
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void updateStudentStatementCountTest() throws RequirementViolationException {
+		Student student = new Student("José", "Silva", "202012341");
+		student.addPhone(new Phone("91234-5671", "Mobile"));
+		
+		Student updatedStudent = service.update(student);
+		entityManager.flush();
+		
+		assertEquals("José", updatedStudent.getFirstName());
+		assertEquals(1, updatedStudent.getPhones().size());
+		assertEquals(1, statistics.getEntityUpdateCount());
+		assertEquals(1, statistics.getEntityDeleteCount());
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void updateStudent_UnchangedStatementCountTest() throws RequirementViolationException {
+		Student student = new Student("João", "Silva", "202012342");
+		student.addPhone(new Phone("91234-5672", "Mobile"));
+		student.addPhone(new Phone("1234-5672", "Home"));
+		
+		service.update(student);
+		entityManager.flush();
+		
+		assertEquals(0, statistics.getEntityUpdateCount());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void deleteStudentStatementCountTest() throws RequirementViolationException {
+		assertEquals(3, service.delete("202012343"));
+		
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(STUDENTS - 1, service.findAll().size());
+	}
+	
+	@Test
+	void deleteStudent_NotFoundStatementCountTest() {
+		assertThrows(RequirementViolationException.class, () -> service.delete("302012343"));
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void findStudentStatementCountTest() throws RequirementViolationException {
+		Student student = service.find("202012340");
+		
+		assertEquals(2, student.getPhones().size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	void findStudentTagStatementCountTest() throws RequirementViolationException {
+		String tag = service.tryFindTag("202012340").get();
+		
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(tag, service.tryFindTag("202012340").get());
+		
+		service.update(new Student("João", "Silva", "202012340"));
+		entityManager.flush();
+		assertNotEquals(tag, service.tryFindTag("202012340").get());
+		assertFalse(service.tryFindTag("302012340").isSuccess());
+	}
+	
+	@Test
+	void findAllStudentsTagStatementCountTest() throws RequirementViolationException {
+		String tag = service.findAllTag();
+		String pageTag = service.findPageTag(0, 3);
+		
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(tag, service.findAllTag());
+		assertEquals(pageTag, service.findPageTag(0, 3));
+		
+		// Removing the phones only changes the student through its version
+		service.update(new Student("João", "Silva", "202012341"));
+		entityManager.flush();
+		assertNotEquals(tag, service.findAllTag());
+		assertNotEquals(pageTag, service.findPageTag(0, 3));
+		
+		tag = service.findAllTag();
+		service.delete("202012343");
+		service.save(new Student("João", "Silva", "302012343"));
+		entityManager.flush();
+		assertNotEquals(tag, service.findAllTag());
+	}
+	
+	@Test
+	void updateStudent_StaleVersionTest() throws RequirementViolationException {
+		String tag = service.tryFindTag("202012341").get();
+		service.update(new Student("José", "Silva", "202012341"), "202012341", tag);
+		entityManager.flush();
+		
+		assertNotEquals(tag, service.tryFindTag("202012341").get());
+		assertThrows(RequirementViolationException.class, () -> service.update(new Student("Maria", "Silva", "202012341"), "202012341", tag));
+	}
+	
+	@Test
+	void deleteStudent_VersionStatementCountTest() throws RequirementViolationException {
+		String tag = service.tryFindTag("202012343").get();
+		statistics.clear();
+		
+		assertThrows(RequirementViolationException.class, () -> service.delete("202012343", "\"0.0\""));
+		assertEquals(3, service.delete("202012343", tag));
+		assertEquals(4, statistics.getPrepareStatementCount());
+		assertEquals(STUDENTS - 1, service.findAll().size());
+	}
+	
+	@Test
+	void findStudent_FilteredStatementCountTest() throws RequirementViolationException {
+		enrollmentIdFilter.rebuild();
+		statistics.clear();
+		
+		assertTrue(enrollmentIdFilter.isReady());
+		assertThrows(RequirementViolationException.class, () -> service.find("302012340"));
+		assertThrows(RequirementViolationException.class, () -> service.delete("302012340"));
+		assertEquals(0, statistics.getPrepareStatementCount());
+		
+		Student student = new Student("Maria", "Silva", "302012340");
+		service.save(student);
+		assertEquals(student.getEnrollmentId(), service.find("302012340").getEnrollmentId());
+	}
+	
+	@Test
+	void findStudent_SyncedFilterTest() throws RequirementViolationException {
+		enrollmentIdFilter.rebuild();
+		
+		// Inserted without going through this service, as another instance would
+		entityManager.persist(new Student("Maria", "Silva", "302012341"));
+		entityManager.flush();
+		assertFalse(enrollmentIdFilter.mightContain("302012341"));
+		
+		enrollmentIdFilter.sync();
+		assertEquals("302012341", service.find("302012341").getEnrollmentId());
+	}
+}
@@ -1,31 +1,48 @@
 package com.forleven.backenddevelopertest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.SerializationUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import com.forleven.backenddevelopertest.cache.EnrollmentIdFilter;
+import com.forleven.backenddevelopertest.cache.StudentResponseCache;
 import com.forleven.backenddevelopertest.dao.StudentRepository;
+import com.forleven.backenddevelopertest.dao.StudentSpecifications;
 import com.forleven.backenddevelopertest.domain.Phone;
 import com.forleven.backenddevelopertest.domain.Student;
 import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.service.NameCursor;
+import com.forleven.backenddevelopertest.service.ServiceResult;
 import com.forleven.backenddevelopertest.service.StudentService;
+import com.forleven.backenddevelopertest.util.ExistsContext;
 import com.forleven.backenddevelopertest.util.ServiceProperties;
 
 @SpringBootTest
@@ -37,6 +54,12 @@ class StudentServiceTests {
 	@Qualifier("studentServiceProperties")
 	private ServiceProperties props;
 	
+	@MockBean
+	private StudentResponseCache responseCache;
+	
+	@MockBean
+	private EnrollmentIdFilter enrollmentIdFilter;
+	
 	@InjectMocks
 	private StudentService service;
 	
@@ -48,6 +71,7 @@ class StudentServiceTests {
 	@BeforeEach
 	public void init() {
 		MockitoAnnotations.initMocks(this);
+		Mockito.when(enrollmentIdFilter.mightContain(ArgumentMatchers.anyString())).thenReturn(true);
 		
 		studentA = new Student(1, "João", "Silva", "202012345");
 		
@@ -66,6 +90,40 @@ class StudentServiceTests {
 		assertEquals(3, service.findAll().size());
 	}
 	
+	@Test
+	void findStudentsPageTest() {
+		Mockito.when(props.maxPageSize()).thenReturn(2);
+		Mockito.when(repo.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 2))).thenReturn(new SliceImpl<>(students.subList(0, 2), PageRequest.of(0, 2), true));
+		assertEquals(2, service.findAll(0, 50).getNumberOfElements());
+		Mockito.verify(repo).findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 2));
+	}
+	
+	@Test
+	void findStudent_FilteredNotFoundTest() {
+		Mockito.when(enrollmentIdFilter.mightContain("302012345")).thenReturn(false);
+		RequirementViolationException exc = assertThrows(RequirementViolationException.class, () -> service.find("302012345"));
+		assertTrue(exc.isRequirementViolated(ExistsContext.NOT_FOUND.label));
+		Mockito.verifyNoInteractions(repo);
+	}
+	
+	@Test
+	void findStudent_FalsePositiveTest() {
+		Mockito.when(repo.findByEnrollmentId("302012345")).thenReturn(Optional.empty());
+		assertThrows(RequirementViolationException.class, () -> service.find("302012345"));
+		Mockito.verify(enrollmentIdFilter).recordFalsePositive();
+	}
+	
+	@Test
+	void searchStudentsTest() {
+		Mockito.when(props.maxPageSize()).thenReturn(100);
+		Mockito.when(repo.findSlice(ArgumentMatchers.any(), ArgumentMatchers.eq(StudentSpecifications.BY_NAME), ArgumentMatchers.eq(10))).thenReturn(new SliceImpl<>(students, PageRequest.of(0, 10), false));
+		assertEquals(3, service.search(" ", "Sil_va%", true, new NameCursor("Silva", "João", 1), 10).getNumberOfElements());
+		Mockito.when(props.maxPageSize()).thenReturn(5);
+		service.search(null, "Silva", false, null, 10);
+		Mockito.verify(repo).findSlice(ArgumentMatchers.any(), ArgumentMatchers.eq(StudentSpecifications.BY_NAME), ArgumentMatchers.eq(5));
+		assertEquals("Sil!_va!%%", StudentSpecifications.toLikePattern(" Sil_va% "));
+	}
+	
 	@Test
 	void findStudentTest() {
 		Student student = studentA;
@@ -87,6 +145,17 @@ class StudentServiceTests {
 		Mockito.when(repo.findByEnrollmentId(enrollmentId)).thenReturn(Optional.empty());
 		assertThrows(RequirementViolationException.class, () -> service.find(enrollmentId));
 	}
+	
+	@Test
+	void tryFindStudent_NotFoundTest() {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(repo.findByEnrollmentId(enrollmentId)).thenReturn(Optional.empty());
+		ServiceResult<Student> result = service.tryFind(enrollmentId);
+		assertFalse(result.isSuccess());
+		assertEquals(ExistsContext.NOT_FOUND, result.getFailure());
+		assertEquals(enrollmentId, result.getEnrollmentId());
+	}
 
 	@Test
 	void saveStudentTest() {
@@ -108,6 +177,61 @@ class StudentServiceTests {
 		assertThrows(RequirementViolationException.class, () -> service.save(student));
 	}
 	
+	@Test
+	void saveStudent_InsertFirstTest() {
+		Student student = studentA;
+		
+		Mockito.when(props.insertFirstCreate()).thenReturn(true);
+		Mockito.when(repo.saveAndFlush(student)).thenReturn(student);
+		try {
+			assertEquals(service.save(student), student);
+			Mockito.verify(repo, Mockito.never()).existsByEnrollmentId(student.getEnrollmentId());
+		} catch (RequirementViolationException e) {
+			fail("Student with new Enrollment ID was not saved!");
+		}
+	}
+	
+	@Test
+	void saveStudent_InsertFirstAlreadyExistsTest() {
+		Student student = studentA;
+		
+		Mockito.when(props.insertFirstCreate()).thenReturn(true);
+		Mockito.when(repo.saveAndFlush(student)).thenThrow(new DataIntegrityViolationException("Duplicate entry",
+				new ConstraintViolationException("Duplicate entry", new SQLException(), "student." + Student.ENROLLMENT_ID_UNIQUE)));
+		assertThrows(RequirementViolationException.class, () -> service.save(student));
+	}
+	
+	@Test
+	void trySaveStudent_InsertFirstAlreadyExistsTest() {
+		Student student = studentA;
+		
+		Mockito.when(props.insertFirstCreate()).thenReturn(true);
+		Mockito.when(repo.saveAndFlush(student)).thenThrow(new DataIntegrityViolationException("Duplicate entry",
+				new ConstraintViolationException("Duplicate entry", new SQLException(), "student." + Student.ENROLLMENT_ID_UNIQUE)));
+		assertEquals(ExistsContext.ALREADY_EXISTS, service.trySave(student).getFailure());
+	}
+	
+	@Test
+	void saveStudent_InsertFirstOtherViolationTest() {
+		Student student = studentA;
+		
+		Mockito.when(props.insertFirstCreate()).thenReturn(true);
+		Mockito.when(repo.saveAndFlush(student)).thenThrow(new DataIntegrityViolationException("Cannot be null",
+				new ConstraintViolationException("Cannot be null", new SQLException(), null)));
+		assertThrows(DataIntegrityViolationException.class, () -> service.save(student));
+	}
+	
+	@Test
+	void saveAllStudentsTest() {
+		Mockito.when(repo.findExistingEnrollmentIds(ArgumentMatchers.anyCollection())).thenReturn(Collections.singleton(studentA.getEnrollmentId()));
+		Mockito.when(repo.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		List<Student> saved = service.saveAll(Arrays.asList(studentA, studentB, studentC, SerializationUtils.clone(studentB)));
+		assertEquals(2, saved.size());
+		assertSame(studentB, saved.get(0));
+		assertSame(studentC, saved.get(1));
+	}
+	
 	@Test
 	void updateStudentTest() {
 		Student student = studentA;
@@ -129,14 +253,47 @@ class StudentServiceTests {
 	@Test
 	void updateStudent_ChangeEnrollmentIdTest() {
 		Student student = studentA;
+		Student storedStudent = SerializationUtils.clone(student);
 		String currEnrollmentId = student.getEnrollmentId();
 		String newEnrollmentId = "202012348";
 		student.setEnrollmentId(newEnrollmentId);
 		
-		Mockito.when(repo.findByEnrollmentId(currEnrollmentId)).thenReturn(Optional.of(student));
-		Mockito.when(repo.save(student)).thenReturn(student);
+		Mockito.when(repo.findByEnrollmentId(currEnrollmentId)).thenReturn(Optional.of(storedStudent));
 		try {
 			assertEquals(service.update(student, currEnrollmentId).getEnrollmentId(), newEnrollmentId);
+			Mockito.verify(responseCache).invalidate(currEnrollmentId, newEnrollmentId);
+			Mockito.verify(repo, Mockito.never()).save(ArgumentMatchers.any(Student.class));
+		} catch (RequirementViolationException e) {
+			fail("Student with given Enrollment ID not found!");
+		}
+	}
+	
+	@Test
+	void updateStudent_PhonesTest() {
+		Student student = SerializationUtils.clone(studentB);
+		student.setPhones(new ArrayList<>(Arrays.asList(new Phone("91234-5678", "Mobile"), new Phone("91234-5678", "Mobile"), new Phone("8765-4321", "Work"))));
+		String enrollmentId = student.getEnrollmentId();
+		
+		Mockito.when(repo.findByEnrollmentId(enrollmentId)).thenReturn(Optional.of(studentB));
+		try {
+			Student updatedStudent = service.update(student);
+			assertSame(studentB, updatedStudent);
+			assertEquals(2, updatedStudent.getPhones().size());
+			assertEquals("Work", updatedStudent.getPhones().get(1).getPhoneType());
+		} catch (RequirementViolationException e) {
+			fail("Student with given Enrollment ID not found!");
+		}
+	}
+	
+	@Test
+	void updateStudent_UnchangedTest() {
+		Student student = SerializationUtils.clone(studentC);
+		String enrollmentId = student.getEnrollmentId();
+		
+		Mockito.when(repo.findByEnrollmentId(enrollmentId)).thenReturn(Optional.of(studentC));
+		try {
+			assertSame(studentC, service.update(student));
+			Mockito.verifyNoInteractions(responseCache);
 		} catch (RequirementViolationException e) {
 			fail("Student with given Enrollment ID not found!");
 		}
@@ -159,11 +316,12 @@ class StudentServiceTests {
 		Student student = studentA;
 		String enrollmentId = student.getEnrollmentId();
 		
-		Mockito.when(repo.findByEnrollmentId(enrollmentId)).thenReturn(Optional.of(student));
-		Mockito.when(repo.deleteByEnrollmentId(enrollmentId)).thenReturn((long)1);
+		Mockito.when(repo.deletePhonesByEnrollmentId(enrollmentId)).thenReturn(2);
+		Mockito.when(repo.deleteByEnrollmentId(enrollmentId)).thenReturn(1);
 		try {
-			assertTrue(service.delete(enrollmentId));
-			assertTrue(service.delete(student));
+			assertEquals(3, service.delete(enrollmentId));
+			assertEquals(3, service.delete(student));
+			Mockito.verify(responseCache, Mockito.times(2)).invalidate(enrollmentId);
 		} catch (RequirementViolationException e) {
 			fail("Student with given Enrollment ID not found!");
 		}
@@ -174,8 +332,16 @@ class StudentServiceTests {
 		Student student = studentA;
 		String enrollmentId = student.getEnrollmentId();
 		
-		Mockito.when(repo.findByEnrollmentId(enrollmentId)).thenReturn(Optional.empty());
+		Mockito.when(repo.deleteByEnrollmentId(enrollmentId)).thenReturn(0);
 		assertThrows(RequirementViolationException.class, () -> service.delete(enrollmentId));
 		assertThrows(RequirementViolationException.class, () -> service.delete(student));
 	}
+	
+	@Test
+	void tryDeleteStudent_NotFoundTest() {
+		String enrollmentId = studentA.getEnrollmentId();
+		
+		Mockito.when(repo.deleteByEnrollmentId(enrollmentId)).thenReturn(0);
+		assertEquals(ExistsContext.NOT_FOUND, service.tryDelete(enrollmentId, null).getFailure());
+	}
 }
@@ -0,0 +1,31 @@
+package com.forleven.backenddevelopertest.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+
+final class BenchmarkFixtures {
+	private static final String[] PHONE_TYPES = {"Mobile", "Home", "Work"};
+
+	private BenchmarkFixtures() {}
+
+	static List<Phone> phones(int phoneCount, double duplicateRatio, int firstId) {
+		int distinctCount = Math.max(1, phoneCount - (int) Math.round(phoneCount * duplicateRatio));
+		List<Phone> phones = new ArrayList<>(phoneCount);
+		for (int i = 0; i < phoneCount; i++) {
+			int n = i % distinctCount;
+			Instant now = Instant.now();
+			phones.add(new Phone(firstId + i, String.format("9%04d-%04d", n / 10000, n % 10000), PHONE_TYPES[n % PHONE_TYPES.length], now, now));
+		}
+		return phones;
+	}
+
+	static Student student(int id, int phoneCount, double duplicateRatio) {
+		Student student = new Student(id, "João", "Silva", String.format("2020%05d", id), phones(phoneCount, duplicateRatio, id * 1000));
+		student.getPhones().forEach(phone -> phone.setStudent(student));
+		return student;
+	}
+}
@@ -0,0 +1,90 @@
+package com.forleven.backenddevelopertest.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.forleven.backenddevelopertest.exception.ExistsErrorBodies;
+import com.forleven.backenddevelopertest.exception.GeneralExceptionHandler;
+import com.forleven.backenddevelopertest.exception.RequirementViolationException;
+import com.forleven.backenddevelopertest.service.ServiceResult;
+import com.forleven.backenddevelopertest.util.ExistsContext;
+import com.forleven.backenddevelopertest.util.ServiceProperties;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class MissPathBenchmark {
+	@Param({"0", "40"})
+	private int stackDepth;
+
+	private String enrollmentId;
+
+	private ServiceProperties props;
+
+	private GeneralExceptionHandler exceptionHandler;
+
+	private ExistsErrorBodies errorBodies;
+
+	private ObjectWriter writer;
+
+	@Setup
+	public void setUp() {
+		enrollmentId = "202012345";
+		props = new ServiceProperties();
+		props.setEntityName("student");
+		props.setMsgEnrollmentId("Student with Enrollment ID");
+		exceptionHandler = new GeneralExceptionHandler();
+		errorBodies = new ExistsErrorBodies(props);
+		writer = Jackson2ObjectMapperBuilder.json().build().writer();
+	}
+
+	@Benchmark
+	public byte[] exception() throws IOException {
+		try {
+			find(stackDepth);
+			throw new IllegalStateException();
+		} catch (RequirementViolationException exc) {
+			return writer.writeValueAsBytes(exceptionHandler.handleBusinessRuleViolationException(exc).getBody());
+		}
+	}
+
+	@Benchmark
+	public byte[] result() {
+		ServiceResult<Object> result = tryFind(stackDepth);
+		ResponseEntity<byte[]> response = errorBodies.of(result);
+		return response.getBody();
+	}
+
+	// stackDepth stands in for the controller, AOP and transaction proxy frames between the throw and the handler
+	private Object find(int depth) throws RequirementViolationException {
+		if (depth > 0) {
+			return find(depth - 1);
+		}
+		throw new RequirementViolationException(ExistsContext.NOT_FOUND.label, props.entityName(), props.msgEnrollmentId() + " " + enrollmentId + " " + ExistsContext.NOT_FOUND.message);
+	}
+
+	private ServiceResult<Object> tryFind(int depth) {
+		if (depth > 0) {
+			return tryFind(depth - 1);
+		}
+		return ServiceResult.failure(ExistsContext.NOT_FOUND, enrollmentId);
+	}
+}
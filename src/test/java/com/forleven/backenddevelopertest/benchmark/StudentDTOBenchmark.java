@@ -0,0 +1,93 @@
+package com.forleven.backenddevelopertest.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.PhoneDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class StudentDTOBenchmark {
+	@Param({"1", "10", "100"})
+	private int phoneCount;
+
+	@Param({"0.0", "0.5"})
+	private double duplicateRatio;
+
+	private Student student;
+
+	private Phone phone;
+
+	private StudentDTO studentDTO;
+
+	private byte[] studentJson;
+
+	private ObjectWriter studentWriter;
+
+	private ObjectReader studentReader;
+
+	@Setup
+	public void setUp() throws IOException {
+		student = BenchmarkFixtures.student(1, phoneCount, duplicateRatio);
+		phone = student.getPhones().get(0);
+		studentDTO = StudentDTO.from(student);
+
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		studentWriter = objectMapper.writerFor(StudentDTO.class);
+		studentReader = objectMapper.readerFor(StudentDTO.class);
+		studentJson = studentWriter.writeValueAsBytes(studentDTO);
+	}
+
+	@Benchmark
+	public StudentDTO studentDTOFrom() {
+		return StudentDTO.from(student);
+	}
+
+	@Benchmark
+	public Student studentDTOToStudent() {
+		return studentDTO.toStudent();
+	}
+
+	@Benchmark
+	public PhoneDTO phoneDTOFrom() {
+		return PhoneDTO.from(phone);
+	}
+
+	@Benchmark
+	public byte[] jacksonSerialize() throws IOException {
+		return studentWriter.writeValueAsBytes(studentDTO);
+	}
+
+	@Benchmark
+	public StudentDTO jacksonDeserialize() throws IOException {
+		return studentReader.readValue(studentJson);
+	}
+
+	@Benchmark
+	public StudentDTO jacksonRoundTrip() throws IOException {
+		return studentReader.readValue(studentWriter.writeValueAsBytes(StudentDTO.from(student)));
+	}
+}
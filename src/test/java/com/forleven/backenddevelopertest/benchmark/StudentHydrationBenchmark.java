@@ -0,0 +1,70 @@
+package com.forleven.backenddevelopertest.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(value=1, jvmArgsAppend="-Xmx512m")
+public class StudentHydrationBenchmark {
+	@Param({"10000"})
+	private int studentCount;
+
+	@Param({"2"})
+	private int phoneCount;
+
+	private Instant lastModified;
+
+	private Instant createdAt;
+
+	@Setup
+	public void setUp() {
+		createdAt = Instant.parse("2020-08-01T12:00:00Z");
+		lastModified = createdAt.plusSeconds(3600);
+	}
+
+	@Benchmark
+	public List<Student> findAll() {
+		List<Student> students = new ArrayList<>(studentCount);
+		for (int i = 1; i <= studentCount; i++) {
+			Student student = new Student();
+			student.setId(i);
+			student.setFirstName("João");
+			student.setLastName("Silva");
+			student.setEnrollmentId("2020" + i);
+			student.setLastModified(lastModified);
+			student.setCreatedAt(createdAt);
+			for (int j = 0; j < phoneCount; j++) {
+				Phone phone = new Phone();
+				phone.setId(i * 1000 + j);
+				phone.setPhoneNumber("91234-5678");
+				phone.setPhoneType("Mobile");
+				phone.setLastModified(lastModified);
+				phone.setCreatedAt(createdAt);
+				student.addPhone(phone.withStudent(student));
+			}
+			students.add(student);
+		}
+		return students;
+	}
+}
@@ -0,0 +1,69 @@
+package com.forleven.backenddevelopertest.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.dto.StudentJsonSerializer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class StudentSerializationBenchmark {
+	@Param({"100"})
+	private int studentCount;
+
+	@Param({"1", "10", "50"})
+	private int phoneCount;
+
+	private List<Student> students;
+
+	private ObjectWriter dtoWriter;
+
+	private ObjectWriter studentWriter;
+
+	@Setup
+	public void setUp() {
+		students = new ArrayList<>(studentCount);
+		for (int i = 1; i <= studentCount; i++) {
+			students.add(BenchmarkFixtures.student(i, phoneCount, 0.0));
+		}
+
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().serializerByType(Student.class, new StudentJsonSerializer()).build();
+		dtoWriter = objectMapper.writerFor(new TypeReference<List<StudentDTO>>() {});
+		studentWriter = objectMapper.writerFor(new TypeReference<List<Student>>() {});
+	}
+
+	@Benchmark
+	public byte[] viaStudentDTO() throws IOException {
+		return dtoWriter.writeValueAsBytes(students.stream().map(StudentDTO::from).collect(Collectors.toList()));
+	}
+
+	@Benchmark
+	public byte[] direct() throws IOException {
+		return studentWriter.writeValueAsBytes(students);
+	}
+}
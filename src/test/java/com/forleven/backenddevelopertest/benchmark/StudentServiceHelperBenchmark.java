@@ -0,0 +1,60 @@
+package com.forleven.backenddevelopertest.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.forleven.backenddevelopertest.domain.Phone;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.service.helper.StudentServiceHelper;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class StudentServiceHelperBenchmark {
+	@Param({"1", "10", "100"})
+	private int phoneCount;
+
+	@Param({"0.0", "0.5"})
+	private double duplicateRatio;
+
+	private Student student;
+
+	private Student storedStudent;
+
+	@Setup
+	public void setUp() {
+		student = BenchmarkFixtures.student(1, phoneCount, duplicateRatio);
+		// Stored phones share half of the incoming numbers, so every Sets view is non-empty.
+		storedStudent = BenchmarkFixtures.student(1, phoneCount, 0.5);
+	}
+
+	@Benchmark
+	public List<Phone> getDistinctPhones() {
+		return StudentServiceHelper.getDistinctPhones(student.getPhones());
+	}
+
+	@Benchmark
+	public List<Phone> getStudentPhonesToBeStored() {
+		return StudentServiceHelper.getStudentPhonesToBeStored(student, storedStudent);
+	}
+
+	@Benchmark
+	public Student setStudentPhonesToDistinct() {
+		return StudentServiceHelper.setStudentPhonesToDistinct(new Student(student.getId(), student.getFirstName(), student.getLastName(), student.getEnrollmentId(), student.getPhones()));
+	}
+}
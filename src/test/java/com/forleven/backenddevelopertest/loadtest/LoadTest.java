@@ -0,0 +1,89 @@
+package com.forleven.backenddevelopertest.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.forleven.backenddevelopertest.BackendDeveloperTestApplication;
+import com.forleven.backenddevelopertest.domain.Student;
+import com.forleven.backenddevelopertest.dto.PhoneDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+import com.forleven.backenddevelopertest.service.IStudentService;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Boots the application against an embedded MariaDB created from SQL_SCRIPT.sql, seeds it
+ * and drives a fixed-rate mixed workload, writing per-route latency and error figures to
+ * the report file. Run through the loadtest Maven profile.
+ */
+public final class LoadTest {
+	private static final int SEED_CHUNK = 1000;
+	private static final String[] PHONE_TYPES = {"Mobile", "Home", "Work"};
+
+	private LoadTest() {}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+		DBConfiguration dbConfiguration = DBConfigurationBuilder.newBuilder().setPort(0).build();
+		DB db = DB.newEmbeddedDB(dbConfiguration);
+		db.start();
+		try {
+			db.run(new String(Files.readAllBytes(settings.schema), StandardCharsets.UTF_8), "root", null);
+			int dbPort = dbConfiguration.getPort();
+			try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(BackendDeveloperTestApplication.class)
+					.properties("server.port=0",
+					            "spring.datasource.url=jdbc:mysql://localhost:" + dbPort + "/student_management?useSSL=false&useLegacyDatetimeCode=false&serverTimezone=UTC&rewriteBatchedStatements=true",
+					            "spring.datasource.username=root",
+					            "spring.datasource.password=",
+					            "student.r2dbc.url=r2dbc:pool:mysql://localhost:" + dbPort + "/student_management?sslMode=DISABLED",
+					            "student.r2dbc.username=root",
+					            "student.r2dbc.password=",
+					            "spring.main.banner-mode=off",
+					            "logging.level.root=WARN")
+					.run(args)) {
+				seed(context.getBean(IStudentService.class), settings);
+
+				String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+				Workload workload = new Workload(baseUrl, settings);
+				if (settings.warmupSeconds > 0) {
+					workload.run(Duration.ofSeconds(settings.warmupSeconds), new LoadTestReport());
+				}
+				LoadTestReport report = new LoadTestReport();
+				long start = System.nanoTime();
+				workload.run(Duration.ofSeconds(settings.durationSeconds), report);
+				Map<String, Object> summary = report.summary(settings.describe(), Duration.ofNanos(System.nanoTime() - start));
+				report.write(settings.report, summary);
+				System.out.println("Load test report written to " + settings.report.toAbsolutePath());
+			}
+		} finally {
+			db.stop();
+		}
+	}
+
+	private static void seed(IStudentService studentService, LoadTestSettings settings) {
+		Random random = new Random(settings.seed);
+		List<Student> chunk = new ArrayList<>(SEED_CHUNK);
+		for (int i = 1; i <= settings.students; i++) {
+			PhoneDTO[] phones = new PhoneDTO[settings.phones];
+			for (int p = 0; p < phones.length; p++) {
+				phones[p] = new PhoneDTO(String.format("9%04d-%04d", random.nextInt(10000), p), PHONE_TYPES[p % PHONE_TYPES.length]);
+			}
+			chunk.add(new StudentDTO("Aluno" + random.nextInt(10000), "Semente" + random.nextInt(10000), Workload.enrollmentId(i), Arrays.asList(phones)).toStudent());
+			if (chunk.size() == SEED_CHUNK || i == settings.students) {
+				studentService.saveAll(chunk);
+				chunk = new ArrayList<>(SEED_CHUNK);
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.forleven.backenddevelopertest.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+final class LoadTestReport {
+	private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+	private final Timer total;
+
+	LoadTestReport() {
+		this.total = timer("total");
+	}
+
+	void record(String route, int status, long latencyNanos) {
+		RouteStats stats = routes.computeIfAbsent(route, RouteStats::new);
+		stats.latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+		total.record(latencyNanos, TimeUnit.NANOSECONDS);
+		stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+		if (status >= 500) {
+			stats.errors.increment();
+		}
+	}
+
+	void recordFailure(String route, long latencyNanos) {
+		RouteStats stats = routes.computeIfAbsent(route, RouteStats::new);
+		stats.latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+		total.record(latencyNanos, TimeUnit.NANOSECONDS);
+		stats.errors.increment();
+		stats.failures.increment();
+	}
+
+	long requests() {
+		return total.count();
+	}
+
+	Map<String, Object> summary(Map<String, Object> configuration, Duration elapsed) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("configuration", configuration);
+		summary.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+		Map<String, Object> routeSummaries = new TreeMap<>();
+		long errors = 0;
+		for (RouteStats stats : routes.values()) {
+			Map<String, Object> route = describe(stats.latency, elapsed);
+			route.put("errors", stats.errors.sum());
+			route.put("transportFailures", stats.failures.sum());
+			Map<Integer, Long> statuses = new TreeMap<>();
+			stats.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+			route.put("statuses", statuses);
+			routeSummaries.put(stats.name, route);
+			errors += stats.errors.sum();
+		}
+		Map<String, Object> totals = describe(total, elapsed);
+		totals.put("errors", errors);
+		summary.put("total", totals);
+		summary.put("routes", routeSummaries);
+		return summary;
+	}
+
+	void write(Path path, Map<String, Object> summary) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), summary);
+	}
+
+	private static Map<String, Object> describe(Timer timer, Duration elapsed) {
+		HistogramSnapshot snapshot = timer.takeSnapshot();
+		Map<String, Object> description = new LinkedHashMap<>();
+		description.put("requests", snapshot.count());
+		description.put("throughput", elapsed.isZero() ? 0.0 : snapshot.count() * 1000.0 / elapsed.toMillis());
+		Map<String, Object> latency = new LinkedHashMap<>();
+		for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+			latency.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+		}
+		latency.put("mean", snapshot.mean(TimeUnit.MILLISECONDS));
+		latency.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+		description.put("latencyMillis", latency);
+		return description;
+	}
+
+	private Timer timer(String route) {
+		return Timer.builder("loadtest.latency")
+				.tag("route", route)
+				.publishPercentiles(PERCENTILES)
+				.percentilePrecision(3)
+				.distributionStatisticExpiry(Duration.ofDays(1))
+				.distributionStatisticBufferLength(1)
+				.register(registry);
+	}
+
+	private final class RouteStats {
+		private final String name;
+		private final Timer latency;
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+		private RouteStats(String name) {
+			this.name = name;
+			this.latency = timer(name);
+		}
+	}
+}
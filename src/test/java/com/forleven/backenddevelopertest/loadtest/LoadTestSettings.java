@@ -0,0 +1,57 @@
+package com.forleven.backenddevelopertest.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class LoadTestSettings {
+	final int students;
+	final int phones;
+	final int rate;
+	final double readRatio;
+	final int warmupSeconds;
+	final int durationSeconds;
+	final long seed;
+	final Path schema;
+	final Path report;
+
+	LoadTestSettings(int students, int phones, int rate, double readRatio, int warmupSeconds, int durationSeconds, long seed, Path schema, Path report) {
+		this.students = students;
+		this.phones = phones;
+		this.rate = rate;
+		this.readRatio = readRatio;
+		this.warmupSeconds = warmupSeconds;
+		this.durationSeconds = durationSeconds;
+		this.seed = seed;
+		this.schema = schema;
+		this.report = report;
+		if (students < 1 || rate < 1 || readRatio < 0 || readRatio > 1 || durationSeconds < 1 || warmupSeconds < 0) {
+			throw new IllegalArgumentException("Invalid load test settings: " + describe());
+		}
+	}
+
+	static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings(Integer.getInteger("loadtest.students", 10000),
+				Integer.getInteger("loadtest.phones", 2),
+				Integer.getInteger("loadtest.rate", 200),
+				Double.parseDouble(System.getProperty("loadtest.readRatio", "0.8")),
+				Integer.getInteger("loadtest.warmupSeconds", 15),
+				Integer.getInteger("loadtest.durationSeconds", 60),
+				Long.getLong("loadtest.seed", 42L),
+				Paths.get(System.getProperty("loadtest.schema", "SQL_SCRIPT.sql")),
+				Paths.get(System.getProperty("loadtest.report", "target/loadtest-report.json")));
+	}
+
+	Map<String, Object> describe() {
+		Map<String, Object> description = new LinkedHashMap<>();
+		description.put("students", students);
+		description.put("phonesPerStudent", phones);
+		description.put("rate", rate);
+		description.put("readRatio", readRatio);
+		description.put("warmupSeconds", warmupSeconds);
+		description.put("durationSeconds", durationSeconds);
+		description.put("seed", seed);
+		return description;
+	}
+}
@@ -0,0 +1,157 @@
+package com.forleven.backenddevelopertest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forleven.backenddevelopertest.dto.PhoneDTO;
+import com.forleven.backenddevelopertest.dto.StudentDTO;
+
+/**
+ * Open-model workload: requests are issued at a fixed rate regardless of how fast the
+ * server answers, and latency is measured from the intended send time so that a stalled
+ * server is not hidden by the client waiting for it (coordinated omission).
+ */
+final class Workload {
+	static final String GET_STUDENT = "GET /api/students/{enrollmentId}";
+	static final String GET_PAGE = "GET /api/students?limit";
+	static final String POST_STUDENT = "POST /api/students";
+	static final String PUT_STUDENT = "PUT /api/students/{enrollmentId}";
+	static final String DELETE_STUDENT = "DELETE /api/students/{enrollmentId}";
+
+	private static final int PAGE_LIMIT = 20;
+
+	private final HttpClient client;
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final String baseUrl;
+	private final LoadTestSettings settings;
+	private final Random random;
+	private final Queue<String> created = new ConcurrentLinkedQueue<>();
+	private long nextCreated;
+
+	Workload(String baseUrl, LoadTestSettings settings) {
+		this.baseUrl = baseUrl;
+		this.settings = settings;
+		this.random = new Random(settings.seed);
+		this.nextCreated = settings.students + 1L;
+		this.client = HttpClient.newBuilder()
+				.executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), Workload::daemon))
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	void run(Duration duration, LoadTestReport report) throws InterruptedException, TimeoutException {
+		// One phaser per run, so a warmup cannot leave a party behind that holds the measured run open
+		Phaser inFlight = new Phaser(1);
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate;
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		for (long intended = start; intended < end; intended += intervalNanos) {
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			send(intended, report, inFlight);
+		}
+		inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 30, TimeUnit.SECONDS);
+	}
+
+	private void send(long intended, LoadTestReport report, Phaser inFlight) {
+		String route;
+		HttpRequest request;
+		String posted = null;
+		if (random.nextDouble() < settings.readRatio) {
+			if (random.nextInt(4) == 0) {
+				route = GET_PAGE;
+				request = builder("/api/students?limit=" + PAGE_LIMIT + "&after=" + random.nextInt(Math.max(1, settings.students))).GET().build();
+			} else {
+				route = GET_STUDENT;
+				request = builder("/api/students/" + seededEnrollmentId()).GET().build();
+			}
+		} else {
+			int write = random.nextInt(3);
+			String deletable = write == 2 ? created.poll() : null;
+			if (deletable != null) {
+				route = DELETE_STUDENT;
+				request = builder("/api/students/" + deletable).DELETE().build();
+			} else if (write == 1) {
+				route = PUT_STUDENT;
+				String enrollmentId = seededEnrollmentId();
+				request = builder("/api/students/" + enrollmentId).header("Content-Type", "application/json")
+						.PUT(BodyPublishers.ofString(json(student(enrollmentId)))).build();
+			} else {
+				route = POST_STUDENT;
+				posted = enrollmentId(nextCreated++);
+				request = builder("/api/students").header("Content-Type", "application/json")
+						.POST(BodyPublishers.ofString(json(student(posted)))).build();
+			}
+		}
+
+		String createdId = posted;
+		inFlight.register();
+		client.sendAsync(request, BodyHandlers.discarding()).whenComplete((response, failure) -> {
+			try {
+				long latency = System.nanoTime() - intended;
+				if (failure != null) {
+					report.recordFailure(route, latency);
+				} else {
+					report.record(route, response.statusCode(), latency);
+					if (createdId != null && response.statusCode() == 200) {
+						created.add(createdId);
+					}
+				}
+			} finally {
+				inFlight.arriveAndDeregister();
+			}
+		});
+	}
+
+	private HttpRequest.Builder builder(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+	}
+
+	private String seededEnrollmentId() {
+		return enrollmentId(1 + random.nextInt(settings.students));
+	}
+
+	private StudentDTO student(String enrollmentId) {
+		int n = random.nextInt(10000);
+		PhoneDTO[] phones = new PhoneDTO[settings.phones];
+		for (int i = 0; i < phones.length; i++) {
+			phones[i] = new PhoneDTO(String.format("9%04d-%04d", n, i), i % 2 == 0 ? "Mobile" : "Home");
+		}
+		return new StudentDTO("Aluno" + n, "Carga" + n, enrollmentId, Arrays.asList(phones));
+	}
+
+	private String json(StudentDTO dto) {
+		try {
+			return objectMapper.writeValueAsString(dto);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Thread daemon(Runnable runnable) {
+		Thread thread = new Thread(runnable, "loadtest-client");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	static String enrollmentId(long n) {
+		return String.format("%09d", n);
+	}
+}
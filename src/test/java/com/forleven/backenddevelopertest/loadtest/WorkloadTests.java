@@ -0,0 +1,62 @@
+package com.forleven.backenddevelopertest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class WorkloadTests {
+	private static final int RATE = 50;
+	
+	private HttpServer server;
+	
+	private ExecutorService executor;
+	
+	@BeforeEach
+	public void init() throws IOException {
+		// Answers every request with an empty 200, standing in for the application
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", exchange -> {
+			try (InputStream body = exchange.getRequestBody()) {
+				body.readAllBytes();
+			}
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+		});
+		executor = Executors.newFixedThreadPool(4);
+		server.setExecutor(executor);
+		server.start();
+	}
+	
+	@AfterEach
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+	
+	@Test
+	void warmupThenMeasuredRunTest() throws Exception {
+		LoadTestSettings settings = new LoadTestSettings(100, 1, RATE, 0.5, 1, 1, 42L, Paths.get("SQL_SCRIPT.sql"), Paths.get("target/loadtest-report.json"));
+		Workload workload = new Workload("http://localhost:" + server.getAddress().getPort(), settings);
+		
+		LoadTestReport warmup = new LoadTestReport();
+		workload.run(Duration.ofMillis(200), warmup);
+		LoadTestReport report = new LoadTestReport();
+		workload.run(Duration.ofMillis(200), report);
+		
+		// Each run waits for its own requests only, at one request every 1000 / RATE milliseconds
+		assertEquals(10, warmup.requests());
+		assertEquals(10, report.requests());
+	}
+}